@@ -0,0 +1,78 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 AlgsUF.java
+ *
+ *  Adapter exposing algs4 WeightedQuickUnionUF as UnionFind.
+ *
+ *----------------------------------------------------------------*/
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+
+/**
+ * UnionFind backed by the course WeightedQuickUnionUF. It has no path
+ * compression and is kept mostly as a reference for benchmarks.
+ */
+public class AlgsUF implements UnionFind
+{
+    /** Number of sites */
+    private int n;
+
+    /** Wrapped union-find */
+    private WeightedQuickUnionUF uf;
+
+    /**
+     * Component sizes, valid for roots only. WeightedQuickUnionUF keeps them
+     * private, so they are tracked here once more.
+     */
+    private int[] size;
+
+    /** Create n sites each in its own component */
+    public AlgsUF(int n)
+    {
+        this.n = n;
+        size = new int[n];
+        reset();
+    }
+
+    /**
+     * Put every site back into its own component. WeightedQuickUnionUF can't
+     * be cleared, so it is created anew.
+     */
+    public void reset()
+    {
+        uf = new WeightedQuickUnionUF(n);
+        for (int i = 0; i < n; i++)
+            size[i] = 1;
+    }
+
+    /** Number of sites */
+    public int size() { return n; }
+
+    /** Root of the component containing site p */
+    public int find(int p) { return uf.find(p); }
+
+    /** Merge components and look up the new root */
+    public int union(int p, int q)
+    {
+        int rootP = uf.find(p);
+        int rootQ = uf.find(q);
+        if (rootP == rootQ)
+            return rootP;
+
+        uf.union(rootP, rootQ);
+        int root = uf.find(rootP);
+        size[root] = size[rootP] + size[rootQ];
+        return root;
+    }
+
+    /** Are sites p and q in the same component? */
+    public boolean connected(int p, int q) { return uf.connected(p, q); }
+
+    /** Number of sites in the component containing site p */
+    public int componentSize(int p) { return size[uf.find(p)]; }
+
+    /** Parent and size arrays of WeightedQuickUnionUF and sizes kept here */
+    public long memoryBytes() { return 3 * (16 + 4L * n); }
+}
@@ -0,0 +1,134 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 BernoulliMask.java
+ *  Execution:     java-algs4 BernoulliMask <N> <p> [<seed>]
+ *
+ *  Generate packed open masks where every site is open independently
+ *  with probability p, 64 sites per machine word at a time.
+ *
+ *  Test client generates mask of N x N grid, opens it in Percolation
+ *  and prints timings of both steps.
+ *
+ *----------------------------------------------------------------*/
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Bit-sliced Bernoulli sampler.
+ *
+ * Site is open when its uniform U in [0, 1) is below p. Instead of drawing U
+ * per site, 64 sites are compared against p at once, one binary digit at a
+ * time from the most significant: every nextLong() supplies the next digit of
+ * U for all 64 sites. Where the digit of p is 1 and the one of U is 0, U < p
+ * and the site is open; where it's 0 and U has 1, U > p and the site is
+ * blocked. Other sites stay undecided for the next digit.
+ *
+ * Half of undecided sites are settled by every digit, so a word takes about
+ * log2(64) + 2 = 8 random longs on average instead of 64 random doubles, and
+ * the result is exact for every double p because its binary expansion is
+ * walked until it ends.
+ */
+public class BernoulliMask
+{
+    /** Utility class */
+    private BernoulliMask() { }
+
+    /** Packed mask of given number of sites each open with probability p */
+    public static long[] generate(int sites, double p, SplittableRandom random)
+    {
+        if (sites < 0)
+            throw new IllegalArgumentException(
+                "Number of sites must be non-negative");
+
+        long[] words = new long[(int) (((long) sites + 63) >>> 6)];
+        fill(words, sites, p, random);
+        return words;
+    }
+
+    /**
+     * Overwrite first sites bits of the words with a random mask and clear
+     * the rest of the last one. Words past it are not touched.
+     */
+    public static void fill(long[] words, int sites, double p,
+                            SplittableRandom random)
+    {
+        if (p < 0 || p > 1)
+            throw new IllegalArgumentException("Probability must be in [0, 1]");
+        if (sites < 0 || sites > (long) words.length * 64)
+            throw new IllegalArgumentException(
+                "Mask is too short for " + sites + " sites");
+
+        int full = sites >>> 6;
+        for (int w = 0; w < full; w++)
+            words[w] = word(p, random);
+
+        if ((sites & 63) != 0)
+            words[full] = word(p, random) & ((1L << sites) - 1);
+    }
+
+    /** 64 independent Bernoulli(p) bits */
+    public static long word(double p, SplittableRandom random)
+    {
+        if (p >= 1)
+            return -1L;
+
+        long result = 0;
+        long undecided = -1L;
+        double rest = p;
+        while (undecided != 0 && rest != 0)
+        {
+            // Next binary digit of p, exact in floating point
+            rest *= 2;
+            long u = random.nextLong();
+            if (rest >= 1) {
+                rest -= 1;
+                result |= undecided & ~u;
+                undecided &= u;
+            } else {
+                undecided &= ~u;
+            }
+        }
+
+        // Sites still undecided have U >= p
+        return result;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 2) {
+            StdOut.println("Requires arguments <N> <p> [<seed>]");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        double p = Double.parseDouble(args[1]);
+        SplittableRandom random;
+        if (args.length > 2)
+            random = new SplittableRandom(Long.parseLong(args[2]));
+        else
+            random = new SplittableRandom();
+
+        long start = System.nanoTime();
+        long[] mask = generate(N * N, p, random);
+        long generated = System.nanoTime();
+
+        Percolation pc = new Percolation(N);
+        pc.openAll(mask);
+        long opened = System.nanoTime();
+
+        long open = 0;
+        for (long w : mask)
+            open += Long.bitCount(w);
+
+        StdOut.printf("open fraction\t= %.6f\n", (double) open / ((long) N * N));
+        StdOut.printf("percolates\t= %b\n", pc.percolates());
+        StdOut.printf("generate ms\t= %.1f\n", (generated - start) / 1e6);
+        StdOut.printf("open ms\t\t= %.1f\n", (opened - generated) / 1e6);
+    }
+}
@@ -0,0 +1,84 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 CubicLattice.java
+ *
+ *  Simple cubic W x D x H lattice where every site has 6 neighbors.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Simple cubic lattice made of H horizontal layers of W x D sites. Site at
+ * layer z, row y and column x (all 0 based) has number (z * D + y) * W + x.
+ * The system percolates from the layer 0 to the layer H - 1.
+ *
+ * With periodic boundaries both horizontal directions wrap around, layers
+ * never do.
+ */
+public class CubicLattice implements Lattice
+{
+    /** Layer width, depth and number of layers */
+    private int W, D, H;
+
+    /** Do horizontal directions wrap around? */
+    private boolean periodic;
+
+    /** Create L x L x L lattice with fixed boundaries */
+    public CubicLattice(int L)
+    {
+        this(L, L, L, false);
+    }
+
+    /** Create W x D x H lattice */
+    public CubicLattice(int W, int D, int H, boolean periodic)
+    {
+        if (W <= 0 || D <= 0 || H <= 0)
+            throw new IllegalArgumentException("W, D and H must be at least 1");
+        if ((long) W * D * H > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Lattice is too large");
+
+        this.W = W;
+        this.D = D;
+        this.H = H;
+        this.periodic = periodic;
+    }
+
+    /** Number of sites */
+    public int sites() { return W * D * H; }
+
+    /** Up, down and 4 horizontal neighbors */
+    public int maxDegree() { return 6; }
+
+    /** Sites of the first layer touch the top */
+    public boolean isTop(int site) { return site < W * D; }
+
+    /** Sites of the last layer touch the bottom */
+    public boolean isBottom(int site) { return site >= (H - 1) * W * D; }
+
+    /** Collect neighbors of the site */
+    public int neighbors(int site, int[] out)
+    {
+        int layer = W * D;
+        int z = site / layer;
+        int y = (site % layer) / W;
+        int x = site % W;
+        int k = 0;
+
+        if (z > 0)     out[k++] = site - layer;
+        if (z < H - 1) out[k++] = site + layer;
+
+        if (x > 0)          out[k++] = site - 1;
+        else if (periodic)  out[k++] = site + W - 1;
+        if (x < W - 1)      out[k++] = site + 1;
+        else if (periodic)  out[k++] = site - W + 1;
+
+        if (y > 0)          out[k++] = site - W;
+        else if (periodic)  out[k++] = site + (D - 1) * W;
+        if (y < D - 1)      out[k++] = site + W;
+        else if (periodic)  out[k++] = site - (D - 1) * W;
+
+        return k;
+    }
+}
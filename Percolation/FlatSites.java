@@ -0,0 +1,61 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 FlatSites.java
+ *
+ *  Plain packed bitmap of open sites.
+ *
+ *----------------------------------------------------------------*/
+import java.util.Arrays;
+
+/**
+ * Open sites as one long array with a bit per site. Default storage of
+ * Percolation: fastest, and its size doesn't depend on what is open.
+ */
+public class FlatSites implements OpenSites
+{
+    /** Open bits, site n is bit n % 64 of the word n / 64 */
+    private long[] open;
+
+    /** Number of sites */
+    private int sites;
+
+    /** Create n blocked sites */
+    public FlatSites(int n)
+    {
+        if (n < 0)
+            throw new IllegalArgumentException(
+                "Number of sites must be non-negative");
+
+        sites = n;
+        open = new long[(int) (((long) n + 63) >>> 6)];
+    }
+
+    /** Number of sites */
+    public int size() { return sites; }
+
+    /** Is site n open? */
+    public boolean get(int n) { return (open[n >>> 6] & (1L << n)) != 0; }
+
+    /** Mark site n open */
+    public void set(int n) { open[n >>> 6] |= 1L << n; }
+
+    /** Open bits of the sites 64w..64w+63 */
+    public long word(int w) { return open[w]; }
+
+    /** Mark sites of the bits open and return bits that were not open before */
+    public long add(int w, long bits)
+    {
+        long fresh = bits & ~open[w];
+        open[w] |= fresh;
+        return fresh;
+    }
+
+    /** Mark all sites blocked without allocation */
+    public void clear() { Arrays.fill(open, 0); }
+
+    /** Array header and words */
+    public long memoryBytes() { return 16 + 8L * open.length; }
+}
@@ -0,0 +1,392 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 GridFile.java
+ *  Execution:     java-algs4 GridFile <file> [<threads>]
+ *                 java-algs4 GridFile <input> --out <output.grid>
+ *
+ *  Load and store open masks of percolation grids.
+ *
+ *  Binary format is a 16 byte header followed by packed rows:
+ *
+ *      int   magic   "PGRD"
+ *      int   version 1
+ *      int   width   W
+ *      int   height  H
+ *      H rows of (W + 7) / 8 bytes, site c of a row is bit c % 8
+ *      of the byte c / 8
+ *
+ *  Header ints are big-endian. Rows are the same as StreamingPercolation
+ *  reads, so grids too large to load may be streamed with rows().
+ *
+ *  Text format is the one of the course input files: N followed by
+ *  (i, j) pairs of 1-based coordinates of open sites.
+ *
+ *  Given a file of either format the test client loads it and tells
+ *  whether the grid percolates, opening sites with given number of
+ *  threads. With --out it converts the file to the binary format
+ *  instead.
+ *
+ *----------------------------------------------------------------*/
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Open mask of a W x H grid. Site in row r and column c (both 0 based) is open
+ * when bit n = r * W + c of the mask is set, i.e. the mask is in the order
+ * Percolation.openAll expects.
+ *
+ * Files are memory-mapped and scanned in place: binary rows are shifted
+ * straight into mask words and text is parsed by a byte scanner over the
+ * mapping, so loading creates no objects per site or per number.
+ */
+public class GridFile
+{
+    /** Binary file signature, "PGRD" */
+    private static final int MAGIC = 0x50475244;
+
+    /** Binary format version */
+    private static final int VERSION = 1;
+
+    /** Size of binary header in bytes */
+    private static final int HEADER = 16;
+
+    /** Grid width and height */
+    private int W, H;
+
+    /** Packed open mask */
+    private long[] mask;
+
+    /** Create grid with given mask */
+    public GridFile(int W, int H, long[] mask)
+    {
+        if (W <= 0 || H <= 0)
+            throw new IllegalArgumentException("W and H must be at least 1");
+        if ((long) W * H > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(
+                "Grid is too large to load, stream it");
+        if (mask.length != (W * H + 63) >>> 6)
+            throw new IllegalArgumentException(
+                "Mask must have (W * H + 63) / 64 words");
+
+        this.W = W;
+        this.H = H;
+        this.mask = mask;
+    }
+
+    /** Grid width */
+    public int width() { return W; }
+
+    /** Grid height */
+    public int height() { return H; }
+
+    /** Packed open mask, not a copy */
+    public long[] mask() { return mask; }
+
+    /** Create N x N Percolation with open sites of this square grid */
+    public Percolation percolation() { return percolation(1); }
+
+    /** Same as percolation() with sites unioned by up to given threads */
+    public Percolation percolation(int threads)
+    {
+        if (W != H)
+            throw new IllegalStateException("Percolation needs a square grid");
+
+        Percolation pc = new Percolation(W);
+        pc.openAll(mask, threads);
+        return pc;
+    }
+
+    /** Map the whole file read-only */
+    private static MappedByteBuffer map(File file) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            long length = raf.length();
+            if (length > Integer.MAX_VALUE)
+                throw new IOException(
+                    "File is too large to load, stream it: " + file);
+            return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /** Does the file start with the binary format signature? */
+    public static boolean isBinary(File file) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            return file.length() >= HEADER && in.readInt() == MAGIC;
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Load grid in the binary format */
+    public static GridFile read(File file) throws IOException
+    {
+        MappedByteBuffer buf = map(file);
+        if (buf.limit() < HEADER || buf.getInt(0) != MAGIC)
+            throw new IOException("Not a grid file: " + file);
+        if (buf.getInt(4) != VERSION)
+            throw new IOException("Unsupported grid file version: " + file);
+
+        int W = buf.getInt(8);
+        int H = buf.getInt(12);
+        int rowBytes = (W + 7) >>> 3;
+        if (W <= 0 || H <= 0 || buf.limit() != HEADER + (long) rowBytes * H)
+            throw new IOException("Corrupted grid file: " + file);
+
+        long[] mask = new long[(int) (((long) W * H + 63) >>> 6)];
+        int pos = HEADER;
+        for (int r = 0; r < H; r++)
+        {
+            long base = (long) r * W;
+            for (int b = 0; b < rowBytes; b++)
+            {
+                long bits = buf.get(pos++) & 0xffL;
+                if (bits == 0)
+                    continue;
+
+                // Drop padding bits past the row end
+                int valid = Math.min(8, W - 8 * b);
+                bits &= (1L << valid) - 1;
+
+                long n = base + 8 * b;
+                int w = (int) (n >>> 6);
+                int shift = (int) (n & 63);
+                mask[w] |= bits << shift;
+                if (shift + valid > 64)
+                    mask[w + 1] |= bits >>> (64 - shift);
+            }
+        }
+
+        return new GridFile(W, H, mask);
+    }
+
+    /**
+     * Load square grid in the course text format: N followed by pairs of
+     * 1-based (i, j) coordinates of open sites.
+     */
+    public static GridFile readText(File file) throws IOException
+    {
+        Scanner in = new Scanner(map(file));
+        long N = in.nextInt();
+        if (N <= 0 || N * N > Integer.MAX_VALUE)
+            throw new IOException("Bad grid size " + N + " in " + file);
+
+        long[] mask = new long[(int) ((N * N + 63) >>> 6)];
+        while (in.hasNext())
+        {
+            long i = in.nextInt();
+            long j = in.nextInt();
+            if (i < 1 || i > N || j < 1 || j > N)
+                throw new IOException("Site (" + i + ", " + j
+                                      + ") is out of grid in " + file);
+
+            long n = (i - 1) * N + (j - 1);
+            mask[(int) (n >>> 6)] |= 1L << n;
+        }
+
+        return new GridFile((int) N, (int) N, mask);
+    }
+
+    /** Store grid in the binary format */
+    public void write(File file) throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(W);
+            out.writeInt(H);
+
+            int rowBytes = (W + 7) >>> 3;
+            for (int r = 0; r < H; r++)
+            {
+                for (int b = 0; b < rowBytes; b++)
+                {
+                    int bits = 0;
+                    for (int c = 8 * b; c < Math.min(W, 8 * b + 8); c++)
+                    {
+                        int n = r * W + c;
+                        if ((mask[n >>> 6] & (1L << n)) != 0)
+                            bits |= 1 << (c - 8 * b);
+                    }
+                    out.writeByte(bits);
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Rows of a binary grid file read sequentially, for StreamingPercolation.
+     * Nothing but a single row is kept in memory, so the file may be of any
+     * size. StreamingPercolation may stop reading early, so the caller must
+     * close the rows when done.
+     */
+    public static Rows rows(File file) throws IOException
+    {
+        DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException("Not a grid file: " + file);
+
+            int W = in.readInt();
+            int H = in.readInt();
+            return new Rows(in, W, H);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /** Rows of an open binary grid file */
+    public static class Rows implements RowSource, Closeable
+    {
+        private DataInputStream in;
+        private RowSource packed;
+        private int W, H;
+
+        /** Number of rows read */
+        private int read;
+
+        private Rows(DataInputStream in, int W, int H)
+        {
+            this.in = in;
+            this.W = W;
+            this.H = H;
+            packed = StreamingPercolation.packed(W, in);
+        }
+
+        /** Grid width */
+        public int width() { return W; }
+
+        /** Read the next row, false after H rows */
+        public boolean next(long[] row) throws IOException
+        {
+            if (read == H)
+                return false;
+
+            read++;
+            if (!packed.next(row))
+                throw new IOException("Grid file has less than " + H + " rows");
+            return true;
+        }
+
+        /** Close the file */
+        public void close() throws IOException { in.close(); }
+    }
+
+    /**
+     * Scanner of non-negative decimal integers separated by whitespace,
+     * working directly on the bytes of a mapped file.
+     */
+    private static class Scanner
+    {
+        private MappedByteBuffer buf;
+        private int pos;
+
+        Scanner(MappedByteBuffer buf) { this.buf = buf; }
+
+        /** Skip whitespace and tell whether there is another number */
+        boolean hasNext()
+        {
+            while (pos < buf.limit() && buf.get(pos) <= ' ')
+                pos++;
+            return pos < buf.limit();
+        }
+
+        /** Parse the next number */
+        long nextInt() throws IOException
+        {
+            if (!hasNext())
+                throw new IOException("Unexpected end of file at byte " + pos);
+
+            long value = 0;
+            int start = pos;
+            while (pos < buf.limit() && buf.get(pos) > ' ')
+            {
+                int d = buf.get(pos) - '0';
+                if (d < 0 || d > 9 || value > Integer.MAX_VALUE)
+                    throw new IOException("Bad number at byte " + start);
+                value = value * 10 + d;
+                pos++;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) throws IOException
+    {
+        List<String> positional = new ArrayList<String>();
+        File out = null;
+        int a = 0;
+        while (a < args.length)
+        {
+            String arg = args[a++];
+            if (arg.equals("--out") && a < args.length)
+                out = new File(args[a++]);
+            else
+                positional.add(arg);
+        }
+
+        if (positional.size() < 1 || positional.size() > 2) {
+            StdOut.println("Requires argument <file> [<threads>] "
+                + "or <input> --out <output.grid>");
+            return;
+        }
+
+        File file = new File(positional.get(0));
+        GridFile grid;
+        if (isBinary(file))
+            grid = read(file);
+        else
+            grid = readText(file);
+        if (out != null) {
+            grid.write(out);
+            return;
+        }
+
+        int threads = 1;
+        if (positional.size() > 1)
+            threads = Integer.parseInt(positional.get(1));
+        StdOut.printf("size\t\t= %d x %d\n", grid.width(), grid.height());
+        if (grid.width() == grid.height()) {
+            StdOut.printf("percolates\t= %b\n",
+                          grid.percolation(threads).percolates());
+            return;
+        }
+
+        Rows rows = rows(file);
+        try {
+            StdOut.printf("percolates\t= %b\n",
+                          new StreamingPercolation(rows).percolates());
+        } finally {
+            rows.close();
+        }
+    }
+}
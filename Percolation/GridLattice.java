@@ -0,0 +1,102 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 GridLattice.java
+ *
+ *  Rectangular W x H lattice with von Neumann (4 neighbors) or Moore
+ *  (8 neighbors) connectivity and optionally periodic columns.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Rectangular lattice of width W and height H. Sites are numbered row by row,
+ * so site in row r and column c (both 0 based) has number r * W + c.
+ *
+ * With periodic boundaries the leftmost and rightmost columns are neighbors,
+ * i.e. the lattice is a cylinder. Rows never wrap: the system percolates from
+ * the top row to the bottom one and joining them would make that trivial.
+ */
+public class GridLattice implements Lattice
+{
+    /** Lattice width and height */
+    private int W, H;
+
+    /** Are diagonal sites neighbors too? */
+    private boolean moore;
+
+    /** Do columns wrap around? */
+    private boolean periodic;
+
+    /** Create square N x N lattice with 4 neighbors, same as Percolation */
+    public GridLattice(int N)
+    {
+        this(N, N, false, false);
+    }
+
+    /** Create W x H lattice with given connectivity and boundaries */
+    public GridLattice(int W, int H, boolean moore, boolean periodic)
+    {
+        if (W <= 0 || H <= 0)
+            throw new IllegalArgumentException("W and H must be at least 1");
+        if ((long) W * H > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Lattice is too large");
+
+        this.W = W;
+        this.H = H;
+        this.moore = moore;
+        this.periodic = periodic;
+    }
+
+    /** Number of sites */
+    public int sites() { return W * H; }
+
+    /** 4 for von Neumann and 8 for Moore connectivity */
+    public int maxDegree()
+    {
+        if (moore)
+            return 8;
+        return 4;
+    }
+
+    /** Sites in the first row touch the top */
+    public boolean isTop(int site) { return site < W; }
+
+    /** Sites in the last row touch the bottom */
+    public boolean isBottom(int site) { return site >= (H - 1) * W; }
+
+    /** Collect neighbors of the site */
+    public int neighbors(int site, int[] out)
+    {
+        int r = site / W;
+        int c = site % W;
+        int k = 0;
+
+        for (int dr = -1; dr <= 1; dr++)
+        {
+            int nr = r + dr;
+            if (nr < 0 || nr >= H)
+                continue;
+
+            for (int dc = -1; dc <= 1; dc++)
+            {
+                if (dr == 0 && dc == 0)
+                    continue;
+                if (!moore && dr != 0 && dc != 0)
+                    continue;
+
+                int nc = c + dc;
+                if (nc < 0 || nc >= W)
+                {
+                    if (!periodic)
+                        continue;
+                    nc = (nc + W) % W;
+                }
+
+                out[k++] = nr * W + nc;
+            }
+        }
+        return k;
+    }
+}
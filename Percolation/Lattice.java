@@ -0,0 +1,38 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 Lattice.java
+ *
+ *  Topology of a percolation system: how many sites there are, which
+ *  sites are neighbors and which of them touch the top and the bottom.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Lattice of sites numbered 0..sites()-1 used by LatticePercolation.
+ *
+ * Neighbors are written into a caller supplied array instead of being
+ * returned as a collection, so walking a lattice allocates nothing.
+ */
+public interface Lattice
+{
+    /** Number of sites */
+    int sites();
+
+    /** Maximum number of neighbors of a single site */
+    int maxDegree();
+
+    /**
+     * Write neighbors of the site into out, which must have at least
+     * maxDegree() elements, and return their number.
+     */
+    int neighbors(int site, int[] out);
+
+    /** Does the site belong to the top boundary? */
+    boolean isTop(int site);
+
+    /** Does the site belong to the bottom boundary? */
+    boolean isBottom(int site);
+}
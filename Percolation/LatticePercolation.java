@@ -0,0 +1,206 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 LatticePercolation.java
+ *  Execution:     java-algs4 LatticePercolation <L: lattice size> [<T>]
+ *
+ *  Percolation on an arbitrary Lattice: rectangular grids, Moore
+ *  connectivity, periodic boundaries, 3D cubic lattices.
+ *
+ *  Test client opens random sites of several L-sized lattices until
+ *  they percolate and prints the fraction of open sites averaged over T
+ *  experiments.
+ *
+ *----------------------------------------------------------------*/
+import java.util.Arrays;
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+/**
+ * Same engine as Percolation (open bitmap, UnionFind, TOP and BOTTOM flags on
+ * component roots) but the neighbor function comes from a Lattice and sites
+ * are addressed by their numbers.
+ *
+ * Percolation stays the fast path for the square 4-neighbor grid, where
+ * neighbors are plain index arithmetic instead of a call through the lattice.
+ */
+public class LatticePercolation
+{
+    /** Component touches the top boundary */
+    private static final byte TOP = 1;
+
+    /** Component touches the bottom boundary */
+    private static final byte BOTTOM = 2;
+
+    /** Topology of the system */
+    private Lattice lattice;
+
+    /** Open state of every site, one bit per site */
+    private long[] open;
+
+    /** TOP and BOTTOM flags of components, valid for union-find roots only */
+    private byte[] flags;
+
+    /** Union-find structure to account connected components */
+    private UnionFind unionFind;
+
+    /** Has some component touched both boundaries? */
+    private boolean percolates;
+
+    /** Scratch buffer for neighbors of the site being opened */
+    private int[] neighbors;
+
+    /** Create lattice with all sites blocked */
+    public LatticePercolation(Lattice lattice)
+    {
+        this(lattice, new GridUF(lattice.sites()));
+    }
+
+    /**
+     * Create lattice with all sites blocked using given union-find. It must
+     * have exactly lattice.sites() sites, all in separate components.
+     */
+    public LatticePercolation(Lattice lattice, UnionFind unionFind)
+    {
+        if (unionFind.size() != lattice.sites())
+            throw new IllegalArgumentException(
+                "Union-find must have a site for every lattice site");
+
+        this.lattice = lattice;
+        this.unionFind = unionFind;
+
+        int n = lattice.sites();
+        open = new long[(n + 63) >>> 6];
+        flags = new byte[n];
+        neighbors = new int[lattice.maxDegree()];
+    }
+
+    /** Number of sites */
+    public int sites() { return flags.length; }
+
+    /**
+     * Block all sites again so the instance may be reused for another
+     * experiment. Arrays are cleared in place, nothing is allocated.
+     */
+    public void reset()
+    {
+        Arrays.fill(open, 0);
+        unionFind.reset();
+        percolates = false;
+    }
+
+    /** Throw if site number is out of the lattice */
+    private void validate(int site)
+    {
+        if (site < 0 || site >= flags.length)
+            throw new IllegalArgumentException(
+                "Site must be 0.." + (flags.length - 1));
+    }
+
+    /** Check open bit of the site */
+    private boolean getOpen(int n) { return (open[n >>> 6] & (1L << n)) != 0; }
+
+    /** Set flags of the component root and check whether it percolates now */
+    private void markRoot(int root, byte f)
+    {
+        flags[root] = f;
+        if (f == (TOP | BOTTOM))
+            percolates = true;
+    }
+
+    /** Open a site and connect it to open neighbors */
+    public void open(int site)
+    {
+        validate(site);
+        if (getOpen(site))
+            return;
+
+        open[site >>> 6] |= 1L << site;
+
+        byte f = 0;
+        if (lattice.isTop(site))    f |= TOP;
+        if (lattice.isBottom(site)) f |= BOTTOM;
+        markRoot(site, f);
+
+        int k = lattice.neighbors(site, neighbors);
+        for (int a = 0; a < k; a++)
+        {
+            int m = neighbors[a];
+            if (!getOpen(m))
+                continue;
+
+            int p = unionFind.find(site);
+            int q = unionFind.find(m);
+            if (p != q)
+                markRoot(unionFind.union(p, q), (byte) (flags[p] | flags[q]));
+        }
+    }
+
+    /** Is the site open? */
+    public boolean isOpen(int site)
+    {
+        validate(site);
+        return getOpen(site);
+    }
+
+    /** Is the site connected to the top boundary? */
+    public boolean isFull(int site)
+    {
+        validate(site);
+        return getOpen(site) && (flags[unionFind.find(site)] & TOP) != 0;
+    }
+
+    /** Does the system percolate? */
+    public boolean percolates() { return percolates; }
+
+    /**
+     * Open random sites until the system percolates and return mean fraction
+     * of open sites over T experiments. The same instance is reset and reused
+     * for every experiment.
+     */
+    private static double threshold(Lattice lattice, int T)
+    {
+        int n = lattice.sites();
+        int[] order = new int[n];
+        for (int k = 0; k < n; k++)
+            order[k] = k;
+
+        LatticePercolation pc = new LatticePercolation(lattice);
+        double sum = 0;
+        for (int t = 0; t < T; t++)
+        {
+            StdRandom.shuffle(order);
+            pc.reset();
+
+            int k = 0;
+            while (!pc.percolates())
+                pc.open(order[k++]);
+            sum += (double) k / n;
+        }
+        return sum / T;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        int L = 64;
+        if (args.length > 0)
+            L = Integer.parseInt(args[0]);
+        int T = 1;
+        if (args.length > 1)
+            T = Integer.parseInt(args[1]);
+
+        StdOut.printf("square\t\t%f\n", threshold(new GridLattice(L), T));
+        StdOut.printf("rectangle\t%f\n",
+            threshold(new GridLattice(2 * L, L, false, false), T));
+        StdOut.printf("moore\t\t%f\n",
+            threshold(new GridLattice(L, L, true, false), T));
+        StdOut.printf("cylinder\t%f\n",
+            threshold(new GridLattice(L, L, false, true), T));
+        StdOut.printf("cubic\t\t%f\n", threshold(new CubicLattice(L), T));
+    }
+}
@@ -0,0 +1,382 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 MappedPercolation.java
+ *  Execution:     java-algs4 MappedPercolation <N: grid size> [<dir> | --direct]
+ *
+ *  Percolation for grids too large for the Java heap. Union-find and
+ *  site state live in memory-mapped files or off-heap buffers.
+ *
+ *  Test client opens random sites of an NxN grid until it percolates
+ *  and prints the fraction of open sites. The grid is backed by
+ *  temporary files in the given directory, java.io.tmpdir by default.
+ *  With --direct it uses direct buffers instead, which need
+ *  -XX:MaxDirectMemorySize of at least 6 * N * N bytes.
+ *
+ *----------------------------------------------------------------*/
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+/**
+ * Same public API as Percolation, but nothing proportional to N * N is kept on
+ * the heap. Every site takes 6 bytes outside of it:
+ *
+ * - 4 bytes of parent link, stored as unsigned parent + 1 so that zero means
+ *   "root". Fresh files and direct buffers are zero filled, so creating a grid
+ *   does not touch all the pages;
+ * - 1 byte of union-by-rank rank. Rank never exceeds 32, while sizes would
+ *   take 4 more bytes per site;
+ * - 1 byte of state: OPEN bit and the TOP and BOTTOM component flags, valid
+ *   for roots only, exactly as in Percolation.
+ *
+ * A single ByteBuffer is limited to 2 GB, so arrays are split into segments
+ * of 1 GB. Site numbers are longs, and N may go up to 65535 for which N * N
+ * still fits into unsigned 32-bit parent links.
+ *
+ * By default segments are mapped from temporary files, so the grid is limited
+ * by disk space and the OS page cache only. Direct buffers are counted against
+ * -XX:MaxDirectMemorySize, which defaults to -Xmx, so a grid in them needs
+ * that limit raised to 6 * N * N bytes, about 15 GB for N = 50000.
+ */
+public class MappedPercolation implements Closeable
+{
+    /** Largest grid whose site numbers fit into unsigned int */
+    public static final int MAX_N = 65535;
+
+    /** Component touches the top row */
+    private static final byte TOP = 1;
+
+    /** Component touches the bottom row */
+    private static final byte BOTTOM = 2;
+
+    /** Site is open */
+    private static final byte OPEN = 4;
+
+    /** Log2 of the segment size in bytes */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /** Grid size */
+    private int N;
+
+    /** Parent links, unsigned parent + 1 or 0 for roots */
+    private Segments parent;
+
+    /** Union-by-rank ranks */
+    private Segments rank;
+
+    /** OPEN bit and component flags */
+    private Segments state;
+
+    /** Has some component touched both top and bottom rows? */
+    private boolean percolates;
+
+    /** Create grid backed by temporary files in java.io.tmpdir */
+    public MappedPercolation(int N) throws IOException
+    {
+        this(N, new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Create grid backed by temporary files in the directory, or by off-heap
+     * direct buffers if dir is null. The latter requires -XX:MaxDirectMemorySize
+     * of at least 6 * N * N bytes.
+     */
+    public MappedPercolation(int N, File dir) throws IOException
+    {
+        if (N <= 0 || N > MAX_N)
+            throw new IllegalArgumentException("N must be 1.." + MAX_N);
+
+        this.N = N;
+
+        long sites = (long) N * N;
+        parent = new Segments(sites * 4, dir);
+        rank   = new Segments(sites, dir);
+        state  = new Segments(sites, dir);
+    }
+
+    /** Site number of (i, j) */
+    private long xyToN(int i, int j) { return (long) (i - 1) * N + (j - 1); }
+
+    /** Root of the component containing site p, halving the path on the way */
+    private long find(long p)
+    {
+        long site = p;
+        while (true)
+        {
+            long up = parentOf(site);
+            if (up == site)
+                return site;
+
+            long grand = parentOf(up);
+            if (grand != up)
+                setParent(site, grand);
+            site = grand;
+        }
+    }
+
+    /** Parent link of the site */
+    private long parentOf(long p)
+    {
+        long link = parent.getInt(p << 2) & 0xffffffffL;
+        if (link == 0)
+            return p;
+        return link - 1;
+    }
+
+    /** Point site p to the site q */
+    private void setParent(long p, long q)
+    {
+        parent.putInt(p << 2, (int) (q + 1));
+    }
+
+    /** Set flags of the component root keeping OPEN bit */
+    private void markRoot(long root, int f)
+    {
+        state.put(root, (byte) (OPEN | f));
+        if (f == (TOP | BOTTOM))
+            percolates = true;
+    }
+
+    /** Connect site n to the neighbor m if the latter is open */
+    private void connectTo(long n, long m)
+    {
+        if ((state.get(m) & OPEN) == 0)
+            return;
+
+        long p = find(n);
+        long q = find(m);
+        if (p == q)
+            return;
+
+        int f = (state.get(p) | state.get(q)) & (TOP | BOTTOM);
+        int rp = rank.get(p);
+        int rq = rank.get(q);
+        if (rp < rq)
+        {
+            setParent(p, q);
+            markRoot(q, f);
+        }
+        else
+        {
+            if (rp == rq)
+                rank.put(p, (byte) (rp + 1));
+            setParent(q, p);
+            markRoot(p, f);
+        }
+    }
+
+    /** Open a site by given row and column */
+    public void open(int i, int j)
+    {
+        if (i < 1 || i > N || j < 1 || j > N)
+            throw new IllegalArgumentException("Site must be (1..N, 1..N)");
+
+        long n = xyToN(i, j);
+        if ((state.get(n) & OPEN) != 0)
+            return;
+
+        int f = 0;
+        if (i == 1) f |= TOP;
+        if (i == N) f |= BOTTOM;
+        markRoot(n, f);
+
+        if (i > 1) connectTo(n, n - N);
+        if (i < N) connectTo(n, n + N);
+        if (j > 1) connectTo(n, n - 1);
+        if (j < N) connectTo(n, n + 1);
+    }
+
+    /** Check whether is site pointed by given row and column is open */
+    public boolean isOpen(int i, int j)
+    {
+        if (i < 1 || i > N || j < 1 || j > N)
+            throw new IllegalArgumentException("Site must be (1..N, 1..N)");
+
+        return (state.get(xyToN(i, j)) & OPEN) != 0;
+    }
+
+    /** Check whether site is full, i.e. connected to the top row */
+    public boolean isFull(int i, int j)
+    {
+        if (!isOpen(i, j))
+            return false;
+
+        return (state.get(find(xyToN(i, j))) & TOP) != 0;
+    }
+
+    /** Check whether the whole system percolates */
+    public boolean percolates() { return percolates; }
+
+    /**
+     * Block all sites again so the grid may be reused for another experiment.
+     * Storage is zero-filled in place, nothing is allocated or remapped.
+     */
+    public void reset()
+    {
+        parent.clear();
+        rank.clear();
+        state.clear();
+        percolates = false;
+    }
+
+    /**
+     * Drop references to the buffers so the grid can't be used anymore. Java
+     * has no way to free direct buffers or unmap files explicitly, so memory
+     * and mappings are released only when the buffers are garbage collected.
+     * Temporary files are already unlinked and vanish with the mappings.
+     */
+    public void close()
+    {
+        parent = null;
+        rank = null;
+        state = null;
+    }
+
+    /**
+     * Byte array of any length split into 1 GB segments, either mapped from a
+     * temporary file or allocated off-heap.
+     */
+    private static class Segments
+    {
+        /** Segment size in bytes */
+        private static final long SEGMENT = 1L << SEGMENT_SHIFT;
+
+        /** Mask of the offset inside a segment */
+        private static final long MASK = SEGMENT - 1;
+
+        /** Source of zeros for clear() */
+        private static final byte[] ZEROS = new byte[1 << 16];
+
+        /** Segments themselves, all but the last one are full */
+        private ByteBuffer[] buffers;
+
+        /** Allocate length zero-filled bytes */
+        Segments(long length, File dir) throws IOException
+        {
+            int count = (int) ((length + MASK) >>> SEGMENT_SHIFT);
+            buffers = new ByteBuffer[count];
+
+            if (dir == null)
+            {
+                for (int s = 0; s < count; s++)
+                    buffers[s] = ByteBuffer.allocateDirect(segmentLength(length, s))
+                                           .order(ByteOrder.nativeOrder());
+                return;
+            }
+
+            File file = File.createTempFile("percolation", ".bin", dir);
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                raf.setLength(length);
+                FileChannel channel = raf.getChannel();
+                for (int s = 0; s < count; s++)
+                    buffers[s] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                             (long) s << SEGMENT_SHIFT,
+                                             segmentLength(length, s))
+                                        .order(ByteOrder.nativeOrder());
+            } finally {
+                // Mapping stays valid after the channel is closed, and on
+                // POSIX systems even after the file is unlinked
+                raf.close();
+                if (!file.delete())
+                    file.deleteOnExit();
+            }
+        }
+
+        /** Length of the segment s of the array of given length */
+        private static int segmentLength(long length, int s)
+        {
+            return (int) Math.min(SEGMENT, length - ((long) s << SEGMENT_SHIFT));
+        }
+
+        /** Fill all segments with zeros */
+        void clear()
+        {
+            for (ByteBuffer buffer : buffers)
+            {
+                ByteBuffer b = buffer.duplicate();
+                b.clear();
+                while (b.hasRemaining())
+                    b.put(ZEROS, 0, Math.min(ZEROS.length, b.remaining()));
+            }
+        }
+
+        /** Segment holding the offset */
+        private ByteBuffer segment(long offset)
+        {
+            return buffers[(int) (offset >>> SEGMENT_SHIFT)];
+        }
+
+        /** Byte at the offset */
+        byte get(long offset)
+        {
+            return segment(offset).get((int) (offset & MASK));
+        }
+
+        /** Store byte at the offset */
+        void put(long offset, byte b)
+        {
+            segment(offset).put((int) (offset & MASK), b);
+        }
+
+        /**
+         * Int at the offset. Offsets of ints are multiples of 4, so an int
+         * never crosses a segment boundary.
+         */
+        int getInt(long offset)
+        {
+            return segment(offset).getInt((int) (offset & MASK));
+        }
+
+        /** Store int at the offset */
+        void putInt(long offset, int v)
+        {
+            segment(offset).putInt((int) (offset & MASK), v);
+        }
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1) {
+            StdOut.println("Requires argument <N> (grid size) and optional "
+                + "<dir> or --direct");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        MappedPercolation pc;
+        if (args.length < 2)
+            pc = new MappedPercolation(N);
+        else if (args[1].equals("--direct"))
+            pc = new MappedPercolation(N, null);
+        else
+            pc = new MappedPercolation(N, new File(args[1]));
+
+        long opened = 0;
+        while (!pc.percolates())
+        {
+            int i = StdRandom.uniform(1, N + 1);
+            int j = StdRandom.uniform(1, N + 1);
+            if (pc.isOpen(i, j))
+                continue;
+
+            pc.open(i, j);
+            opened++;
+        }
+        pc.close();
+
+        StdOut.printf("%f\n", (double) opened / ((long) N * N));
+    }
+}
@@ -0,0 +1,40 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 OpenSites.java
+ *
+ *  Storage of open state of percolation sites, so Percolation can
+ *  switch between a flat bitmap and compressed tiles.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Set of open sites numbered 0..size()-1, one bit per site. Bits are also
+ * accessible by 64-bit words, word w holding sites 64w..64w+63, for bulk
+ * operations.
+ */
+public interface OpenSites
+{
+    /** Number of sites */
+    int size();
+
+    /** Is site n open? */
+    boolean get(int n);
+
+    /** Mark site n open */
+    void set(int n);
+
+    /** Open bits of the sites 64w..64w+63 */
+    long word(int w);
+
+    /** Mark sites of the bits open and return bits that were not open before */
+    long add(int w, long bits);
+
+    /** Mark all sites blocked */
+    void clear();
+
+    /** Approximate heap footprint in bytes */
+    long memoryBytes();
+}
@@ -1,7 +1,7 @@
 /*----------------------------------------------------------------
  *  Author:        Alex Dzyoba
  *  Written:       2015-07-08
- *  Last updated:  2015-09-13
+ *  Last updated:  2026-10-18
  *
  *  Compilation:   javac-algs4 Percolation.java
  *  Execution:     java-algs4 Percolation
@@ -16,110 +16,194 @@
  *  - check if the whole system percolates
  *
  *----------------------------------------------------------------*/
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Percolation class provides you method to model grid systems and checks
  * percolation.
  *
- * It creates grid of size NxN with additional utility rows ("shadow" rows) that
- * simplifies accounting of connected components. All sites in these shadow rows
- * are open. To check whether system percolates we simply check if any of the
- * sites in bottom shadow row is connected with any of the top shadow row. But
- * because both of these rows are open, such check is done only once.
+ * Grid sites are numbered row by row starting from 0, so site (i, j) has
+ * number n = (i - 1) * N + (j - 1) and the union-find holds exactly N * N
+ * sites. Open state is a packed bitmap with one bit per site, either flat
+ * (FlatSites, default) or split into compressed tiles (TiledSites).
+ *
+ * Instead of virtual top and bottom rows every union-find root carries a byte
+ * of flags telling whether its component touches the top row, the bottom row
+ * or both:
  *
  *            Columns
  *
  *            1   2   3
  *          +-----------+
- *       0  | x | x | x | -- Top shadow row
- *          +===========+
- *       1  |   |   |   |  -+
- *          +-----------+   |
- * rows  2  |   |   |   |   +-- Visible to client grid
- *          +-----------+   |
- *       3  |   |   |   |  -+
- *          +===========+
- *       4  | x | x | x | -- Bottom shadow row
+ *       1  | T | T | T | -- Opening sets TOP flag
+ *          +-----------+
+ * rows  2  |   |   |   |
+ *          +-----------+
+ *       3  | B | B | B | -- Opening sets BOTTOM flag
  *          +-----------+
  *
- * So, the actual size of the grid is N * (N + 2)
- *
- * Why use a shadow rows? Because of the 1x1 case. WeightedQuickUnionUF class
- * thinks that site is connected to itself which is wrong for our purposes.
+ * When two components are merged the new root gets flags of both. Site is full
+ * when its root has TOP flag, and the system percolates as soon as some root
+ * has both flags. That is remembered, so percolates() is a single field read
+ * and never walks the union-find. A PercolationListener may be registered to
+ * be told about that moment instead of polling.
  *
- * You should beware though that this implementation suffers from the "backwash"
- * problem.
+ * Because only the component of a site itself is consulted, there is no
+ * "backwash": a bottom site is full only if it is really connected to the top.
  *
+ * Components are kept in a UnionFind. By default it is GridUF, but any other
+ * implementation with N * N sites may be passed to the constructor.
  */
 public class Percolation {
 
+    /** Component touches the top row */
+    private static final byte TOP = 1;
+
+    /** Component touches the bottom row */
+    private static final byte BOTTOM = 2;
+
+    /** Minimal number of rows in a stripe of the parallel openAll */
+    private static final int STRIPE_ROWS = 64;
+
     /** Grid size */
     private int N;
 
-    /** Grid itself */
-    private Site[] grid;
+    /** Open state of every site, one bit per site */
+    private OpenSites open;
+
+    /** Number of 64-bit words of open state */
+    private int words;
+
+    /** TOP and BOTTOM flags of components, valid for union-find roots only */
+    private byte[] flags;
 
     /** Union-find structure to account connected components */
-    private WeightedQuickUnionUF unionFind; // structure
+    private UnionFind unionFind; // structure
+
+    /** Has some component touched both top and bottom rows? */
+    private boolean percolates;
+
+    /** Who to notify when the system starts to percolate, may be null */
+    private PercolationListener listener;
 
     /**
-     * Create grid and initialize all sites.
+     * Create grid with all sites blocked.
      */
     public Percolation(int N) 
     {
-        int i, j;
-        this.N = N;
-        
-        grid = new Site[N * (N + 2)];
-        unionFind = new WeightedQuickUnionUF(N * (N + 2));
-
-        // Create grid
-        i = 0;
-        j = 1;
-        for (int n = 0; n < N * (N + 2); n++)
-        {
-            grid[n] = new Site(i, j, n);
+        this(N, new GridUF(siteCount(N)));
+    }
 
-            j = (j + 1) % (N + 1);
+    /**
+     * Create grid with all sites blocked using given union-find. It must have
+     * exactly N * N sites, all in separate components.
+     */
+    public Percolation(int N, UnionFind unionFind)
+    {
+        this(N, unionFind, new FlatSites(siteCount(N)));
+    }
 
-            // Next row
-            if (j == 0) {
-                j = 1;
-                i++;
-            }
-        }
+    /**
+     * Create grid with given union-find and storage of open state, which must
+     * have exactly N * N sites, all blocked. TiledSites takes less memory
+     * when the grid is mostly blocked or mostly open.
+     */
+    public Percolation(int N, UnionFind unionFind, OpenSites open)
+    {
+        siteCount(N);
+        if (unionFind.size() != N * N)
+            throw new IllegalArgumentException("Union-find must have N * N sites");
+        if (open.size() != N * N)
+            throw new IllegalArgumentException("Open sites must have N * N sites");
 
-        // Initialize utility rows.
-        // We MUST do this after all sites are _created_ to avoid null pointers.
-        i = 0;
-        j = 1;
-        for (int n = 0; n < N * (N + 2); n++)
-        {
-            Site site = grid[n];
+        this.N = N;
+        this.unionFind = unionFind;
+        this.open = open;
 
-            if (site.getRow() == 0 || site.getRow() == (N + 1))
-                open(site);
-        }
+        words = (N * N + 63) >>> 6;
+        flags = new byte[N * N];
+    }
+
+    /** Number of sites of NxN grid, N must be 1..46340 so it fits into int */
+    private static int siteCount(int N)
+    {
+        if (N <= 0)
+            throw new IllegalArgumentException("N must be at least 1");
+        if ((long) N * N > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(
+                "Grid is too large, N * N must fit into int");
+        return N * N;
     }
 
     /**
-     * Get site number in array as n = i*N + (j -1) because columns are 1 based
-     * and we must take into account utility rows.
+     * Block all sites again so the instance may be reused for another
+     * experiment. With FlatSites and GridUF arrays are cleared in place and
+     * nothing is allocated. Flags are not touched: they are set for a site
+     * when it's opened. Listener stays and will be notified again when the
+     * next experiment percolates.
      */
-    private int xyToN(int i, int j) { return i * N + (j - 1); }
+    public void reset()
+    {
+        open.clear();
+        unionFind.reset();
+        percolates = false;
+    }
 
     /**
-     * Return site by given row and column
+     * Get site number in array as n = (i - 1)*N + (j - 1) because both rows
+     * and columns are 1 based.
      */
-    private Site getSite(int i, int j)
+    private int xyToN(int i, int j) { return (i - 1) * N + (j - 1); }
+
+    /** Check open bit of the site number n */
+    private boolean getOpen(int n) { return open.get(n); }
+
+    /** Set open bit of the site number n. Does NOT connect it to neighbors! */
+    private void setOpen(int n) { open.set(n); }
+
+    /** Connect site n to the neighbor m if the latter is open */
+    private void connectTo(int n, int m)
     {
-        if (i < 0 || i > N + 1 || j < 1 || j > N)
-            return null;
+        if (!getOpen(m))
+            return;
 
-        int n = xyToN(i, j);
-        return grid[n];
+        int p = unionFind.find(n);
+        int q = unionFind.find(m);
+        if (p == q)
+            return;
+
+        markRoot(unionFind.union(p, q), (byte) (flags[p] | flags[q]));
+    }
+
+    /** Set flags of the component root and check whether it percolates now */
+    private void markRoot(int root, byte f)
+    {
+        flags[root] = f;
+        if (f == (TOP | BOTTOM))
+            percolates = true;
+    }
+
+    /** Notify the listener if the system has just started to percolate */
+    private void checkPercolated(boolean before)
+    {
+        if (!before && percolates && listener != null)
+            listener.percolated(this);
+    }
+
+    /**
+     * Set listener to be notified when the system starts to percolate, once
+     * per experiment (until reset()). Pass null to remove it.
+     */
+    public void setListener(PercolationListener l)
+    {
+        listener = l;
     }
 
     /**
@@ -127,43 +211,291 @@ public class Percolation {
      */
     public void open(int i , int j)
     {
-        if (i < 0 || i > N + 1 || j < 1 || j > N)
+        if (i < 1 || i > N || j < 1 || j > N)
             throw new IllegalArgumentException("Site must be (1..N, 1..N)");
 
-        Site site = getSite(i, j);
-        site.open();
+        openSite(xyToN(i, j), i, j);
+    }
+
+    /**
+     * Open a site by its number n = (i - 1) * N + (j - 1), i.e. 0 based index
+     * in row-major order. Meant for loops that already work with site numbers.
+     */
+    public void openIndex(int n)
+    {
+        validateIndex(n);
+
+        int i = n / N + 1;
+        openSite(n, i, n - (i - 1) * N + 1);
+    }
+
+    /** Check that n is a site number */
+    private void validateIndex(int n)
+    {
+        if (n < 0 || n >= N * N)
+            throw new IllegalArgumentException("Site index must be 0..N*N-1");
+    }
+
+    /** Open site number n in row i and column j and connect it to neighbors */
+    private void openSite(int n, int i, int j)
+    {
+        if (getOpen(n))
+            return;
+
+        setOpen(n);
+        boolean before = percolates;
+
+        // Fresh site is a root of its own component
+        markRoot(n, rowFlags(i));
 
         // Connect to neighbors
-        site.connectTo(getSite(i-1, j), unionFind);
-        site.connectTo(getSite(i+1, j), unionFind);
-        site.connectTo(getSite(i, j-1), unionFind);
-        site.connectTo(getSite(i, j+1), unionFind);
+        if (i > 1) connectTo(n, n - N);
+        if (i < N) connectTo(n, n + N);
+        if (j > 1) connectTo(n, n - 1);
+        if (j < N) connectTo(n, n + 1);
+
+        checkPercolated(before);
+    }
+
+    /** Flags a fresh site gets in the row i */
+    private byte rowFlags(int i)
+    {
+        byte f = 0;
+        if (i == 1) f |= TOP;
+        if (i == N) f |= BOTTOM;
+        return f;
+    }
+
+    /**
+     * Open sites (rows[k], cols[k]) for every k. Result is the same as calling
+     * open for each pair, but coordinates are validated before anything is
+     * opened and unions are done in a single row-major sweep.
+     */
+    public void openAll(int[] rows, int[] cols)
+    {
+        if (rows.length != cols.length)
+            throw new IllegalArgumentException(
+                "Rows and columns must have the same length");
+
+        long[] mask = new long[words];
+        for (int k = 0; k < rows.length; k++)
+        {
+            int i = rows[k];
+            int j = cols[k];
+            if (i < 1 || i > N || j < 1 || j > N)
+                throw new IllegalArgumentException("Site must be (1..N, 1..N)");
+
+            int n = xyToN(i, j);
+            mask[n >>> 6] |= 1L << n;
+        }
+
+        openMask(mask);
+    }
+
+    /**
+     * Open every site whose bit is set in the mask. Site (i, j) has bit
+     * (i - 1) * N + (j - 1), i.e. the mask is the grid in row-major order.
+     */
+    public void openAll(BitSet mask)
+    {
+        if (mask.length() > N * N)
+            throw new IllegalArgumentException("Mask must have at most N * N bits");
+
+        openMask(Arrays.copyOf(mask.toLongArray(), words));
+    }
+
+    /**
+     * Open every site whose bit is set in the packed mask: site number n is
+     * bit n % 64 of the word n / 64. Same as openAll(BitSet) without
+     * conversion, the mask is not modified.
+     */
+    public void openAll(long[] mask)
+    {
+        validateMask(mask);
+        openMask(Arrays.copyOf(mask, words));
+    }
+
+    /** Check that the packed mask has no bits past N * N */
+    private void validateMask(long[] mask)
+    {
+        if (mask.length > words)
+            throw new IllegalArgumentException("Mask must have at most N * N bits");
+        if (mask.length == words && N * N % 64 != 0
+                && (mask[mask.length - 1] >>> (N * N % 64)) != 0)
+            throw new IllegalArgumentException("Mask must have at most N * N bits");
+    }
+
+    /**
+     * Same as openAll(long[]) using up to given number of threads.
+     *
+     * When the grid has no open sites yet and the union-find is GridUF, the
+     * grid is split into horizontal stripes of whole rows. Every stripe is
+     * unioned in its own thread: its sites and their component roots never
+     * leave the stripe, so threads touch disjoint parts of the union-find and
+     * flag arrays and need no locking. Stripe boundaries are joined by a final
+     * sequential pass over the first row of every stripe, which is only
+     * (stripes - 1) * N unions against N * N for the stripes themselves.
+     *
+     * Otherwise components may already span stripes and the sequential sweep
+     * is used. Either way the grid ends up in the same state.
+     */
+    public void openAll(long[] mask, int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException(
+                "Number of threads must be at least 1");
+
+        boolean fresh = unionFind instanceof GridUF;
+        for (int w = 0; fresh && w < words; w++)
+            fresh = open.word(w) == 0;
+
+        int stripes = Math.min(threads, N / STRIPE_ROWS);
+        if (!fresh || stripes < 2) {
+            openAll(mask);
+            return;
+        }
+
+        validateMask(mask);
+        boolean before = percolates;
+        for (int w = 0; w < mask.length; w++)
+            open.add(w, mask[w]);
+
+        // Stripe s has rows from[s]..from[s + 1]-1, 0 based
+        final int[] from = new int[stripes + 1];
+        for (int s = 0; s <= stripes; s++)
+            from[s] = (int) ((long) N * s / stripes);
+
+        ExecutorService pool = Executors.newFixedThreadPool(stripes);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int s = 0; s < stripes; s++)
+            {
+                final int stripe = s;
+                futures.add(pool.submit(new Runnable() {
+                    public void run() {
+                        unionStripe(from[stripe], from[stripe + 1]);
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while opening sites", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Opening sites failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Join every stripe with the one above it
+        for (int s = 1; s < stripes; s++)
+        {
+            int start = from[s] * N;
+            for (int n = start; n < start + N; n++)
+                if (getOpen(n))
+                    connectTo(n, n - N);
+        }
+
+        checkPercolated(before);
     }
 
     /**
-     * Open a site by given reference
+     * Union open sites of the rows r0..r1-1 (0 based) with their upper and
+     * left neighbors inside the same rows. Used by the parallel openAll on
+     * a fresh grid, so open bits are final and nothing outside the rows
+     * is touched.
      */
-    private void open(Site site) { open(site.getRow(), site.getCol()); }
+    private void unionStripe(int r0, int r1)
+    {
+        for (int r = r0; r < r1; r++)
+        {
+            byte f = rowFlags(r + 1);
+            int start = r * N;
+            for (int n = start; n < start + N; n++)
+            {
+                if (!getOpen(n))
+                    continue;
+
+                markRoot(n, f);
+                if (r > r0) connectTo(n, n - N);
+                if (n > start) connectTo(n, n - 1);
+            }
+        }
+    }
+
+    /**
+     * Open sites from the mask of site numbers and connect them. The mask is
+     * owned by this method and is overwritten with the sites that were
+     * actually blocked before.
+     *
+     * All bits are set first, so when the sweep reaches a fresh site every
+     * open site around it already has its bit. Each fresh site connects to
+     * its upper and left neighbors, which are processed already, and to the
+     * lower and right ones only if they were open before the call. That way
+     * every new edge is unioned exactly once.
+     */
+    private void openMask(long[] mask)
+    {
+        boolean before = percolates;
+
+        for (int w = 0; w < mask.length; w++)
+        {
+            mask[w] = open.add(w, mask[w]);
+        }
+
+        int i = 1;
+        int rowStart = 0;
+        for (int w = 0; w < mask.length; w++)
+        {
+            long bits = mask[w];
+            while (bits != 0)
+            {
+                int n = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                while (n >= rowStart + N)
+                {
+                    rowStart += N;
+                    i++;
+                }
+                int j = n - rowStart + 1;
+
+                markRoot(n, rowFlags(i));
+
+                if (i > 1) connectTo(n, n - N);
+                if (j > 1) connectTo(n, n - 1);
+                if (i < N && !isSet(mask, n + N)) connectTo(n, n + N);
+                if (j < N && !isSet(mask, n + 1)) connectTo(n, n + 1);
+            }
+        }
+
+        checkPercolated(before);
+    }
+
+    /** Check bit n of the mask */
+    private static boolean isSet(long[] mask, int n)
+    {
+        return (mask[n >>> 6] & (1L << n)) != 0;
+    }
 
     /**
      * Check whether is site pointed by given row and column is open
      */
     public boolean isOpen(int i, int j)
     {
-        if (i < 1 || i > N)
+        if (i < 1 || i > N || j < 1 || j > N)
             throw new IllegalArgumentException("Site must be (1..N, 1..N)");
 
-        Site site = getSite(i, j);
-        return site.getOpen();
+        return getOpen(xyToN(i, j));
     }
 
-    /**
-     * Check whether site is full, i.e. connected to the top row
-     */
-    private boolean checkFull(Site site)
+    /** Check whether site number n is open */
+    public boolean isOpenIndex(int n)
     {
-        Site topSite;
-        return unionFind.connected(site.getNumber(), xyToN(0, 1));
+        validateIndex(n);
+        return getOpen(n);
     }
 
     /**
@@ -172,20 +504,63 @@ public class Percolation {
      */
     public boolean isFull(int i, int j)
     {
-        if (i < 1 || i > N)
+        if (i < 1 || i > N || j < 1 || j > N)
             throw new IllegalArgumentException("Site must be (1..N, 1..N)");
 
-        Site site = getSite(i, j);
-        return checkFull(site);
+        int n = xyToN(i, j);
+        return getOpen(n) && (flags[unionFind.find(n)] & TOP) != 0;
+    }
+
+    /** Check whether site number n is full */
+    public boolean isFullIndex(int n)
+    {
+        validateIndex(n);
+        return getOpen(n) && (flags[unionFind.find(n)] & TOP) != 0;
     }
 
+    /**
+     * Number of open sites in the cluster of the site by given row and column,
+     * 0 if the site is blocked
+     */
+    public int clusterSize(int i, int j)
+    {
+        if (i < 1 || i > N || j < 1 || j > N)
+            throw new IllegalArgumentException("Site must be (1..N, 1..N)");
+
+        int n = xyToN(i, j);
+        if (!getOpen(n))
+            return 0;
+        return unionFind.componentSize(n);
+    }
+
+    /** Number of sites, used by analytics in this package */
+    int sites() { return N * N; }
+
+    /** Root of the component of the site number n */
+    int root(int n) { return unionFind.find(n); }
+
+    /** Number of sites in the component with given root */
+    int rootSize(int root) { return unionFind.componentSize(root); }
+
+    /**
+     * Approximate heap footprint in bytes: open state, flags and union-find.
+     * Flags and union-find take 9 bytes a site with GridUF, so open state,
+     * one bit a site even when flat, is the smallest part.
+     */
+    public long memoryBytes()
+    {
+        return open.memoryBytes() + 16 + flags.length + unionFind.memoryBytes();
+    }
+
+    /** Does the component with given root touch both top and bottom? */
+    boolean spans(int root) { return flags[root] == (TOP | BOTTOM); }
+
     /**
      * Check whether the whole system percolates
      */
     public boolean percolates()
     {
-        Site bottomSite;
-        return unionFind.connected(xyToN(0, 1), xyToN(N + 1, 1));
+        return percolates;
     }
 
     /**
@@ -194,7 +569,6 @@ public class Percolation {
     public static void main(String [] args)
     {
        Percolation pc = new Percolation(5);
-       //pc.open(0, 0);
        pc.open(1, 1);
        pc.open(2, 1);
        pc.open(3, 3);
@@ -205,52 +579,20 @@ public class Percolation {
        System.out.println(pc.isFull(3, 3));
        System.out.println(pc.isFull(4, 2));
        System.out.println(pc.percolates());
-    }
-
-    /**
-     * Inner class representing a Site
-     */
-    private class Site
-    {
-        /** Site coordinates on a grid */
-        private int i, j;
-
-        /** Site number in a grid array */
-        private int number; 
-
-        /** Site state */
-        private boolean isOpen;
-
-        /** Public constructor */
-        Site(int i, int j, int n)
-        {
-            this.i = i;
-            this.j = j;
-            this.number = n;
-            this.isOpen = false;
-        }
-
-        /** Getters for coordinates */
-        public int getRow() { return i; }
-        public int getCol() { return j; }
-
-        /** Get site number in a grid array */
-        public int     getNumber() { return number; }
-
-        /** Get site state */
-        public boolean getOpen() { return isOpen; }
 
-        /** Set site state to "open". Does NOT connect it to neighbors! */
-        public void    open()  { isOpen = true; }
-
-        /** Connect this site to the neighbor site using Union-Find structure */
-        public void connectTo(Site neighbor, WeightedQuickUnionUF uf)
-        {
-            if (neighbor == null)
-                return;
-
-            if (neighbor.getOpen())
-                uf.union(number, neighbor.getNumber());
-        }
+       // Site (5, 4) must not be full through the bottom row
+       pc.open(5, 4);
+       System.out.println(pc.isFull(5, 4));
+
+       // Same grid opened at once
+       pc = new Percolation(5);
+       pc.setListener(new PercolationListener() {
+           public void percolated(Percolation p) {
+               System.out.println("percolated");
+           }
+       });
+       pc.openAll(new int[] { 1, 2, 3, 5, 4, 3, 4, 5 },
+                  new int[] { 1, 1, 3, 2, 2, 1, 1, 4 });
+       System.out.println(pc.percolates());
     }
 }
@@ -0,0 +1,251 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationBench.java
+ *  Execution:     java-algs4 PercolationBench <N1> [<N2> ...] [--iterations k]
+ *
+ *  Micro-benchmarks of Percolation and PercolationStats for every given
+ *  grid size:
+ *
+ *  - open:        open all sites of a grid in random order
+ *  - openIndex:   same by site numbers
+ *  - isFull:      query sites of a grid opened with p = 0.6
+ *  - isFullIndex: same by site numbers
+ *  - percolates:  query percolation of the same grid, each result is
+ *                 stored to a volatile field which dominates the time
+ *  - trial:       single experiment of PercolationStats
+ *  - stats:       PercolationStats with 100 trials in one thread
+ *
+ *  Every benchmark is repeated for at least 200 ms per iteration, first
+ *  for a few untimed iterations to let JIT compile it and then for given
+ *  number of timed ones (5 by default). Time and heap allocated by the
+ *  benchmark thread are printed per operation as mean and standard
+ *  deviation over iterations, so per-site allocation shows up as
+ *  non-zero bytes/op.
+ *
+ *----------------------------------------------------------------*/
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+public class PercolationBench
+{
+    /** Number of untimed iterations to let JIT compile the hot paths */
+    private static final int WARMUP = 3;
+
+    /** Minimal duration of an iteration, the benchmark is repeated until then */
+    private static final long ITERATION_NANOS = 200000000L;
+
+    /** Trials of the stats benchmark */
+    private static final int STATS_TRIALS = 100;
+
+    /** Seed of all random data, so runs are comparable */
+    private static final long SEED = 42;
+
+    /** Sink for results so JIT can't throw the work away */
+    private static volatile long sink;
+
+    /** Sink for single flags, written on every call */
+    private static volatile boolean flag;
+
+    /** Allocation counter of the JVM, null if not supported */
+    private static final com.sun.management.ThreadMXBean ALLOC = allocationBean();
+
+    /** Benchmark over NxN grid */
+    private interface Bench
+    {
+        /** Do the work and return number of operations done */
+        long run();
+    }
+
+    /**
+     * Consume a result. The volatile store can't be removed or hoisted, so
+     * the call producing b is made on every iteration.
+     */
+    private static void consume(boolean b) { flag = b; }
+
+    /** Thread allocation counter if the JVM has one */
+    private static com.sun.management.ThreadMXBean allocationBean()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+        com.sun.management.ThreadMXBean alloc =
+            (com.sun.management.ThreadMXBean) bean;
+        if (!alloc.isThreadAllocatedMemorySupported())
+            return null;
+
+        alloc.setThreadAllocatedMemoryEnabled(true);
+        return alloc;
+    }
+
+    /** Heap allocated by the current thread so far, 0 if unknown */
+    private static long allocated()
+    {
+        if (ALLOC == null)
+            return 0;
+        return ALLOC.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Run the benchmark and print time and allocation per operation */
+    private static void measure(String name, int N, int iterations, Bench bench)
+    {
+        for (int w = 0; w < WARMUP; w++)
+            iteration(bench);
+
+        RunningStats time = new RunningStats();
+        RunningStats bytes = new RunningStats();
+        for (int it = 0; it < iterations; it++)
+        {
+            long mem = allocated();
+            long start = System.nanoTime();
+            long ops = iteration(bench);
+            long elapsed = System.nanoTime() - start;
+            mem = allocated() - mem;
+
+            time.add((double) elapsed / ops);
+            bytes.add((double) mem / ops);
+        }
+
+        String perOp = "n/a";
+        if (ALLOC != null)
+            perOp = String.format("%.2f", bytes.mean());
+        StdOut.printf("%-12s %8d %14.2f %10.2f %12s\n",
+                      name, N, time.mean(), time.stddev(), perOp);
+    }
+
+    /** Repeat the benchmark for ITERATION_NANOS and return operations done */
+    private static long iteration(Bench bench)
+    {
+        long ops = 0;
+        long start = System.nanoTime();
+        do {
+            ops += bench.run();
+        } while (System.nanoTime() - start < ITERATION_NANOS);
+
+        sink += ops;
+        return ops;
+    }
+
+    /** Run all benchmarks for NxN grid */
+    private static void benchmark(final int N, int iterations)
+    {
+        SplittableRandom random = new SplittableRandom(SEED);
+        final int[] order = PercolationReplay.randomOrder(N, random);
+
+        // Coordinates of the sites, so benchmarks don't time the division
+        final int[] rows = new int[order.length];
+        final int[] cols = new int[order.length];
+        for (int k = 0; k < order.length; k++)
+        {
+            rows[k] = order[k] / N + 1;
+            cols[k] = order[k] % N + 1;
+        }
+
+        final Percolation empty = new Percolation(N);
+        measure("open", N, iterations, new Bench() {
+            public long run() {
+                empty.reset();
+                for (int k = 0; k < order.length; k++)
+                    empty.open(rows[k], cols[k]);
+                return order.length;
+            }
+        });
+
+        measure("openIndex", N, iterations, new Bench() {
+            public long run() {
+                empty.reset();
+                for (int n : order)
+                    empty.openIndex(n);
+                return order.length;
+            }
+        });
+
+        final Percolation grid = new Percolation(N);
+        grid.openAll(BernoulliMask.generate(N * N, 0.6, random));
+        measure("isFull", N, iterations, new Bench() {
+            public long run() {
+                long full = 0;
+                for (int k = 0; k < order.length; k++)
+                    if (grid.isFull(rows[k], cols[k]))
+                        full++;
+                sink += full;
+                return order.length;
+            }
+        });
+
+        measure("isFullIndex", N, iterations, new Bench() {
+            public long run() {
+                long full = 0;
+                for (int n : order)
+                    if (grid.isFullIndex(n))
+                        full++;
+                sink += full;
+                return order.length;
+            }
+        });
+
+        measure("percolates", N, iterations, new Bench() {
+            public long run() {
+                for (int k = 0; k < order.length; k++)
+                    consume(grid.percolates());
+                return order.length;
+            }
+        });
+
+        final Percolation trial = new Percolation(N);
+        final int[] sites = new int[N * N];
+        measure("trial", N, iterations, new Bench() {
+            private int t;
+
+            public long run() {
+                sink += PercolationStats.percolationStep(
+                        PercolationStats.trialRandom(SEED, t++), trial, sites);
+                return 1;
+            }
+        });
+
+        measure("stats", N, iterations, new Bench() {
+            public long run() {
+                PercolationStats stats =
+                    new PercolationStats(N, STATS_TRIALS, SEED, 1);
+                sink += (long) (stats.mean() * N * N);
+                return STATS_TRIALS;
+            }
+        });
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        int iterations = 5;
+        List<Integer> sizes = new ArrayList<Integer>();
+        int a = 0;
+        while (a < args.length)
+        {
+            String arg = args[a++];
+            if (arg.equals("--iterations") && a < args.length)
+                iterations = Integer.parseInt(args[a++]);
+            else
+                sizes.add(Integer.parseInt(arg));
+        }
+
+        if (sizes.isEmpty() || iterations < 2) {
+            StdOut.println("Requires arguments <N1> [<N2> ...] "
+                + "[--iterations k], k >= 2");
+            return;
+        }
+
+        StdOut.printf("%-12s %8s %14s %10s %12s\n",
+                      "benchmark", "N", "ns/op", "stddev", "bytes/op");
+        for (int N : sizes)
+            benchmark(N, iterations);
+    }
+}
@@ -0,0 +1,153 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationClusters.java
+ *  Execution:     java-algs4 PercolationClusters <N: grid size> <p> [<seed>]
+ *
+ *  Cluster statistics of a percolation grid: number of clusters, their
+ *  size distribution, largest cluster and number of spanning clusters.
+ *
+ *  Test client opens every site of an NxN grid with probability p and
+ *  prints statistics followed by the cluster size histogram.
+ *
+ *  % java-algs4 PercolationClusters 100 0.5 1
+ *  clusters    = 701
+ *  ...
+ *
+ *----------------------------------------------------------------*/
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.Out;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Snapshot of clusters of a Percolation grid.
+ *
+ * Built in a single linear pass over sites: union-find roots of open sites are
+ * exactly the clusters, and each root already knows the size of its cluster
+ * and whether it touches both top and bottom rows. Only cluster sizes are
+ * kept, so memory is proportional to the number of clusters.
+ */
+public class PercolationClusters
+{
+    /** Number of sites in the grid */
+    private int sites;
+
+    /** Number of open sites */
+    private int open;
+
+    /** Sizes of all clusters in ascending order */
+    private int[] sizes;
+
+    /** Number of clusters touching both top and bottom rows */
+    private int spanning;
+
+    /** Collect clusters of the grid */
+    public PercolationClusters(Percolation pc)
+    {
+        sites = pc.sites();
+
+        int count = 0;
+        int[] found = new int[16];
+        for (int n = 0; n < sites; n++)
+        {
+            if (!pc.isOpenIndex(n))
+                continue;
+
+            open++;
+            if (pc.root(n) != n)
+                continue;
+
+            if (count == found.length)
+                found = Arrays.copyOf(found, 2 * count);
+            found[count++] = pc.rootSize(n);
+            if (pc.spans(n))
+                spanning++;
+        }
+
+        sizes = Arrays.copyOf(found, count);
+        Arrays.sort(sizes);
+    }
+
+    /** Clusters of an NxN grid with every site open with probability p */
+    public static PercolationClusters random(int N, double p,
+                                             SplittableRandom random)
+    {
+        if (p < 0 || p > 1)
+            throw new IllegalArgumentException("Probability must be in [0, 1]");
+
+        Percolation pc = new Percolation(N);
+        pc.openAll(BernoulliMask.generate(N * N, p, random));
+        return new PercolationClusters(pc);
+    }
+
+    /** Number of clusters */
+    public int count() { return sizes.length; }
+
+    /** Number of open sites */
+    public int openSites() { return open; }
+
+    /** Size of the largest cluster, 0 if there are none */
+    public int largest()
+    {
+        if (sizes.length == 0)
+            return 0;
+        return sizes[sizes.length - 1];
+    }
+
+    /** Fraction of all sites that belong to the largest cluster */
+    public double largestFraction() { return (double) largest() / sites; }
+
+    /** Number of clusters touching both top and bottom rows */
+    public int spanning() { return spanning; }
+
+    /**
+     * Write cluster size histogram, a "size count" line per distinct size in
+     * ascending order. Lines are written while walking sorted sizes, so the
+     * histogram itself is never built in memory.
+     */
+    public void histogram(Out out)
+    {
+        int k = 0;
+        while (k < sizes.length)
+        {
+            int size = sizes[k];
+            int start = k;
+            while (k < sizes.length && sizes[k] == size)
+                k++;
+
+            out.println(size + "\t" + (k - start));
+        }
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 2) {
+            StdOut.println("Requires arguments <N> (grid size) and <p> "
+                + "(open probability)");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        double p = Double.parseDouble(args[1]);
+        SplittableRandom random;
+        if (args.length > 2)
+            random = new SplittableRandom(Long.parseLong(args[2]));
+        else
+            random = new SplittableRandom();
+
+        PercolationClusters clusters = random(N, p, random);
+        StdOut.printf("clusters\t= %d\n", clusters.count());
+        StdOut.printf("open sites\t= %d\n", clusters.openSites());
+        StdOut.printf("largest\t\t= %d (%f)\n",
+                      clusters.largest(), clusters.largestFraction());
+        StdOut.printf("spanning\t= %d\n", clusters.spanning());
+        StdOut.println("size\tcount");
+        clusters.histogram(new Out());
+    }
+}
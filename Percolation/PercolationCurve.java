@@ -0,0 +1,223 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationCurve.java
+ *  Execution:     java-algs4 PercolationCurve <N> <T>
+ *                     [<points> [<threads> [<seed>]]]
+ *
+ *  Estimate probability that NxN grid with every site open with
+ *  probability p percolates, for all p at once, by the method of
+ *  Newman and Ziff.
+ *
+ *  Test client prints CSV "p,P" for given number of points evenly
+ *  spaced over [0, 1].
+ *
+ *----------------------------------------------------------------*/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Percolation probability curve P(p).
+ *
+ * Every trial opens sites in a random order until the grid percolates, exactly
+ * as PercolationStats does, and records the step k at which that happened. So
+ * Q(k), the fraction of trials that percolated with k of M = N * N sites open,
+ * is estimated for every k by the same trials.
+ *
+ * Grid with sites open with probability p has k open sites with binomial
+ * probability B(M, k, p), and given k the open sites are a uniformly random
+ * set, just like the first k sites of a random order. Hence
+ *
+ *     P(p) = sum over k of B(M, k, p) Q(k)
+ *
+ * Binomial weights are computed from the mode outwards by the ratio
+ * B(k + 1) / B(k) = (M - k) / (k + 1) * p / (1 - p) and normalized by their
+ * sum, so neither factorials nor logarithms are needed. Summing stops where
+ * weights drop below 1e-15 of the mode, which leaves O(sqrt(M)) terms for each
+ * p, so hundreds of points cost far less than the trials themselves.
+ */
+public class PercolationCurve
+{
+    /** Relative weight below which binomial tails are dropped */
+    private static final double TAIL = 1e-15;
+
+    /** Number of sites */
+    private int M;
+
+    /** Number of trials */
+    private int T;
+
+    /** Q(k) for k = 0..M */
+    private double[] percolated;
+
+    /** Run T trials on NxN grid with random seed in a single thread */
+    public PercolationCurve(int N, int T)
+    {
+        this(N, T, PercolationStats.randomSeed(), 1);
+    }
+
+    /**
+     * Run T trials on NxN grid with given seed using up to given number of
+     * threads. Trial t uses the same stream as in PercolationStats, so the
+     * result doesn't depend on the number of threads.
+     */
+    public PercolationCurve(final int N, final int T, final long seed, int threads)
+    {
+        if (N <= 0 || T <= 0)
+            throw new IllegalArgumentException("N and T must be at least 1");
+        if (threads < 1)
+            throw new IllegalArgumentException(
+                "Number of threads must be at least 1");
+
+        this.M = N * N;
+        this.T = T;
+
+        // Percolation step of every trial, filled by workers
+        final int[] steps = new int[T];
+        final int workers = Math.min(threads, T);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int w = 0; w < workers; w++)
+            {
+                final int id = w;
+                futures.add(pool.submit(new Runnable() {
+                    public void run() {
+                        Percolation pc = new Percolation(N);
+                        int[] sites = new int[M];
+                        for (int t = id; t < T; t += workers)
+                        {
+                            SplittableRandom random =
+                                PercolationStats.trialRandom(seed, t);
+                            steps[t] = PercolationStats.percolationStep(
+                                    random, pc, sites);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running experiments", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Experiment failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Cumulative fraction of trials percolated by step k
+        percolated = new double[M + 1];
+        for (int step : steps)
+            percolated[step]++;
+
+        double count = 0;
+        for (int k = 0; k <= M; k++)
+        {
+            count += percolated[k];
+            percolated[k] = count / T;
+        }
+    }
+
+    /** Number of trials */
+    public int trials() { return T; }
+
+    /** Fraction of trials that percolated with k sites open */
+    public double percolated(int k)
+    {
+        if (k < 0 || k > M)
+            throw new IllegalArgumentException("k must be in 0..N * N");
+        return percolated[k];
+    }
+
+    /** Probability that the grid with sites open with probability p percolates */
+    public double probability(double p)
+    {
+        if (p < 0 || p > 1)
+            throw new IllegalArgumentException("Probability must be in [0, 1]");
+        if (p == 0)
+            return percolated[0];
+        if (p == 1)
+            return percolated[M];
+
+        double ratio = p / (1 - p);
+        int mode = (int) Math.min(M, Math.floor((M + 1) * p));
+
+        // Weight of the mode is 1, others are relative to it
+        double sum = percolated[mode];
+        double norm = 1;
+
+        double b = 1;
+        for (int k = mode; k < M && b > TAIL; k++)
+        {
+            b *= (double) (M - k) / (k + 1) * ratio;
+            sum += b * percolated[k + 1];
+            norm += b;
+        }
+
+        b = 1;
+        for (int k = mode; k > 0 && b > TAIL; k--)
+        {
+            b *= (double) k / (M - k + 1) / ratio;
+            sum += b * percolated[k - 1];
+            norm += b;
+        }
+
+        return sum / norm;
+    }
+
+    /** Probabilities for every p of the array */
+    public double[] probabilities(double[] p)
+    {
+        double[] result = new double[p.length];
+        for (int i = 0; i < p.length; i++)
+            result[i] = probability(p[i]);
+        return result;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 2) {
+            StdOut.println("Requires arguments <N> <T> "
+                + "[<points> [<threads> [<seed>]]]");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        int T = Integer.parseInt(args[1]);
+        int points = 101;
+        if (args.length > 2)
+            points = Integer.parseInt(args[2]);
+        int threads = 1;
+        if (args.length > 3)
+            threads = Integer.parseInt(args[3]);
+        long seed;
+        if (args.length > 4)
+            seed = Long.parseLong(args[4]);
+        else
+            seed = PercolationStats.randomSeed();
+        if (points < 2)
+            throw new IllegalArgumentException(
+                "Number of points must be at least 2");
+
+        PercolationCurve curve = new PercolationCurve(N, T, seed, threads);
+        StdOut.println("p,P");
+        for (int i = 0; i < points; i++)
+        {
+            double p = (double) i / (points - 1);
+            StdOut.printf("%.6f,%.6f\n", p, curve.probability(p));
+        }
+    }
+}
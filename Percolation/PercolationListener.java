@@ -0,0 +1,21 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationListener.java
+ *
+ *  Callback raised by Percolation when the system starts to percolate.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Listener notified once per experiment (until reset()), from inside the open
+ * or openAll call that made the system percolate. All unions of that call are
+ * done by then, so the grid may be queried safely.
+ */
+public interface PercolationListener
+{
+    /** System pc has just started to percolate */
+    void percolated(Percolation pc);
+}
@@ -0,0 +1,130 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationReplay.java
+ *  Execution:     java-algs4 PercolationReplay <N: grid size> [<seed>]
+ *
+ *  Replay a complete opening order of an NxN grid in a single pass and
+ *  record the step at which it percolates along with the size of the
+ *  largest cluster after every step.
+ *
+ *  Test client replays a random order and prints the percolation step
+ *  and a few points of the largest cluster trajectory.
+ *
+ *----------------------------------------------------------------*/
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Offline replay of an opening order.
+ *
+ * The order is known upfront, so there is no need to ask percolates() after
+ * every step: a PercolationListener records the step at which top and bottom
+ * got connected. Clusters only grow by merging and a merged cluster contains
+ * the site just opened, so the largest cluster after a step is the maximum of
+ * the previous one and the cluster of that site.
+ */
+public class PercolationReplay
+{
+    /** Number of opened sites at which the system percolated */
+    private int step;
+
+    /** Largest cluster size after every step, null if not recorded */
+    private int[] largest;
+
+    /**
+     * Replay order of site numbers (i - 1) * N + (j - 1). If trajectory is
+     * false replay stops as soon as the system percolates, otherwise the whole
+     * order is replayed recording the largest cluster size.
+     */
+    public PercolationReplay(int N, int[] order, boolean trajectory)
+    {
+        if (order.length > N * N)
+            throw new IllegalArgumentException(
+                "Order must have at most N * N sites");
+
+        final Percolation pc = new Percolation(N);
+        final int[] opened = new int[1];
+        pc.setListener(new PercolationListener() {
+            public void percolated(Percolation p) {
+                step = opened[0];
+            }
+        });
+
+        if (trajectory)
+            largest = new int[order.length];
+
+        int max = 0;
+        for (int k = 0; k < order.length; k++)
+        {
+            opened[0] = k + 1;
+            pc.openIndex(order[k]);
+
+            if (!trajectory) {
+                if (step != 0)
+                    break;
+                continue;
+            }
+
+            max = Math.max(max, pc.rootSize(pc.root(order[k])));
+            largest[k] = max;
+        }
+    }
+
+    /** Random order of all N * N sites */
+    public static int[] randomOrder(int N, SplittableRandom random)
+    {
+        int[] order = new int[N * N];
+        for (int n = 0; n < order.length; n++)
+        {
+            int r = random.nextInt(n + 1);
+            order[n] = order[r];
+            order[r] = n;
+        }
+        return order;
+    }
+
+    /** Number of opened sites at which the system percolated, 0 if it didn't */
+    public int step() { return step; }
+
+    /** Largest cluster size after k + 1 sites were opened */
+    public int largestCluster(int k)
+    {
+        if (largest == null)
+            throw new IllegalStateException("Trajectory was not recorded");
+
+        return largest[k];
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 1) {
+            StdOut.println("Requires argument <N> (grid size) and optional <seed>");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        SplittableRandom random;
+        if (args.length > 1)
+            random = new SplittableRandom(Long.parseLong(args[1]));
+        else
+            random = new SplittableRandom();
+
+        int[] order = randomOrder(N, random);
+        PercolationReplay replay = new PercolationReplay(N, order, true);
+
+        StdOut.printf("percolated at step %d, p = %f\n",
+                replay.step(), (double) replay.step() / (N * N));
+        for (int d = 1; d <= 10; d++)
+        {
+            int k = order.length * d / 10 - 1;
+            StdOut.printf("p = %.1f\tlargest cluster = %f\n", d / 10.0,
+                    (double) replay.largestCluster(k) / (N * N));
+        }
+    }
+}
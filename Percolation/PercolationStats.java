@@ -1,10 +1,13 @@
 /*----------------------------------------------------------------
  *  Author:        Alex Dzyoba
  *  Written:       2015-07-08
- *  Last updated:  2015-09-13
+ *  Last updated:  2026-10-18
  *
  *  Compilation:   javac-algs4 PercolationStats.java
  *  Execution:     java-algs4 PercolationStats <N: grid size> <T: iterations>
+ *                            [<threads> [<seed>]] [--eps <width>] [--time <sec>]
+ *                            [--checkpoint <file>]
+ *                 java-algs4 PercolationStats --resume <file> [<threads>]
  *
  *  Estimate percolation threshold using Monte Carlo simulation.
  *
@@ -13,87 +16,698 @@
  *  probability of site being open in a random grid NxN.
  *
  *  Simulation makes T iterations and computes mean, standart deviation and a
- *  confidence interval.
+ *  confidence interval. Statistics are accumulated on the fly, so memory
+ *  does not depend on T. Iterations are independent, so they may run on
+ *  several threads. Every iteration draws from its own random stream derived
+ *  from the seed and the iteration number, hence for a given seed results do
+ *  not depend on the number of threads.
+ *
+ *  Instead of guessing T, simulation may run until the confidence interval
+ *  is narrower than a given width or a time budget is spent. T is then only
+ *  an upper bound and the actual number of iterations is reported.
+ *
+ *  Long runs may save their progress to a checkpoint file every minute and
+ *  be resumed from it later with the very same final statistics.
  *
  *----------------------------------------------------------------*/
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
 import edu.princeton.cs.algs4.StdOut;
 
 public class PercolationStats {
 
-    private double[] results;
+    /**
+     * Maximum number of blocks iterations are split into. Blocks are units of
+     * work for threads and their statistics are merged in order. Block size
+     * depends only on T, so results don't depend on the number of threads,
+     * and it is small enough to keep any number of threads busy unless T is.
+     */
+    private static final int BLOCKS = 4096;
+
+    /** How often progress is saved to the checkpoint file */
+    private static final long CHECKPOINT_MILLIS = 60 * 1000;
+
+    /** Checkpoint file signature, "PCKP" */
+    private static final int CHECKPOINT_MAGIC = 0x50434b50;
+
+    /** Checkpoint file format version */
+    private static final int CHECKPOINT_VERSION = 4;
+
+    /** Statistics of all iterations */
+    private RunningStats stats;
+
+    /** Bounded sample of results for quantiles, null if not requested */
+    private Reservoir sample;
+
+    /** Grid size */
     private int N;
+
+    /** Maximum number of iterations */
     private int T;
 
+    /** Seed all iteration streams are derived from */
+    private long seed;
+
+    /** Size of the sample of results, 0 if none is kept */
+    private int sampleSize;
+
+    /** Number of blocks already accounted in statistics */
+    private int blocksDone;
+
+    /** Blocks finished but not merged yet because some before them are not */
+    private TreeMap<Integer, Block> finished = new TreeMap<Integer, Block>();
+
+    /** Stop once confidence interval is narrower than that, 0 if never */
+    private double epsilon;
+
+    /** Stop once that many milliseconds are spent, 0 if never */
+    private long budgetMillis;
+
+    /** Milliseconds spent before the run was resumed from a checkpoint */
+    private long elapsed;
+
+    /** File to save progress to, null if none */
+    private File checkpoint;
+
+    /** Time when the budget of the current run is spent, in milliseconds */
+    private volatile long deadline;
+
+    /** Has the current run finished, so workers may drop their blocks? */
+    private volatile boolean stopped;
+
     /** Perform T independent experiments on an N-by-N grid */
     public PercolationStats(int N, int T) 
+    {
+        this(N, T, randomSeed(), 1);
+    }
+
+    /**
+     * Perform T independent experiments on an N-by-N grid using given number
+     * of threads. Results are the same for the same seed whatever the number
+     * of threads is.
+     */
+    public PercolationStats(int N, int T, long seed, int threads)
+    {
+        this(N, T, seed, threads, 0);
+    }
+
+    /**
+     * Same as above, but also keep a uniform sample of at most sampleSize
+     * results to estimate quantiles. Pass 0 to keep nothing.
+     */
+    public PercolationStats(int N, int T, long seed, int threads, int sampleSize)
+    {
+        this(N, T, seed, 0, 0, null, sampleSize);
+        run(threads);
+    }
+
+    /**
+     * Perform experiments on an N-by-N grid until the 95% confidence interval
+     * gets narrower than epsilon, budgetMillis milliseconds pass or T
+     * experiments are done, whatever comes first. Zero epsilon or budget
+     * means no such limit.
+     *
+     * Experiments are merged in blocks of ceil(T / 4096), so trials() is
+     * rounded up to a whole block. With epsilon alone the result depends only
+     * on the seed. The budget is soft: it is checked before every experiment,
+     * so the run may exceed it by the duration of one experiment.
+     */
+    public PercolationStats(int N, int T, long seed, int threads,
+                            double epsilon, long budgetMillis)
+    {
+        this(N, T, seed, threads, epsilon, budgetMillis, null);
+    }
+
+    /**
+     * Same as above, but every CHECKPOINT_MILLIS save the state of the run to
+     * the checkpoint file, so it may be continued with resume() after a
+     * crash. Pass null to save nothing.
+     */
+    public PercolationStats(int N, int T, long seed, int threads,
+                            double epsilon, long budgetMillis, File checkpoint)
+    {
+        this(N, T, seed, epsilon, budgetMillis, checkpoint, 0);
+        run(threads);
+    }
+
+    /** Validate parameters of a run not started yet */
+    private PercolationStats(int N, int T, long seed, double epsilon,
+                             long budgetMillis, File checkpoint, int sampleSize)
     {
         if (N <= 0 || T <= 0)
             throw new IllegalArgumentException("N and T must be at least 1");
+        if (sampleSize < 0)
+            throw new IllegalArgumentException("Sample size must be non-negative");
+        validateRun(epsilon, budgetMillis);
 
         this.N = N;
         this.T = T;
+        this.seed = seed;
+        this.sampleSize = sampleSize;
+        this.epsilon = epsilon;
+        this.budgetMillis = budgetMillis;
+        this.checkpoint = checkpoint;
 
-        results = new double[T];
-        for (int i = 0; i < T; i++)
-            results[i] = doExperiment();
+        stats = new RunningStats();
+        if (sampleSize > 0)
+            sample = new Reservoir(sampleSize, new SplittableRandom(seed));
     }
 
-    /** Single experiment iteration */
-    private double doExperiment()
+    /** Restore state of a run from the checkpoint stream */
+    private PercolationStats(DataInputStream in, File checkpoint) throws IOException
     {
-        int i, j;
+        if (in.readInt() != CHECKPOINT_MAGIC)
+            throw new IOException("Not a checkpoint file: " + checkpoint);
+        if (in.readInt() != CHECKPOINT_VERSION)
+            throw new IOException("Unsupported checkpoint version: " + checkpoint);
+
+        N = in.readInt();
+        T = in.readInt();
+        seed = in.readLong();
+        blocksDone = in.readInt();
+        elapsed = in.readLong();
+        epsilon = in.readDouble();
+        budgetMillis = in.readLong();
+        stats = new RunningStats(in.readLong(), in.readDouble(), in.readDouble());
+        this.checkpoint = checkpoint;
+
+        if (N <= 0 || T <= 0 || blocksDone < 0
+            || !(epsilon >= 0) || budgetMillis < 0)
+            throw new IOException("Corrupted checkpoint file: " + checkpoint);
+
+        int pending = in.readInt();
+        for (int k = 0; k < pending; k++)
+        {
+            Block block = new Block();
+            block.index = in.readInt();
+            block.stats = new RunningStats(in.readLong(), in.readDouble(),
+                                           in.readDouble());
+            if (block.index < blocksDone)
+                throw new IOException("Corrupted checkpoint file: " + checkpoint);
+            finished.put(block.index, block);
+        }
+    }
+
+    /**
+     * Continue the run saved in the checkpoint file, saving further progress
+     * to the same file. Epsilon and time budget are the ones the run was
+     * started with, so statistics are the same as if it was never
+     * interrupted. Time budget includes the time spent before the checkpoint.
+     */
+    public static PercolationStats resume(File checkpoint, int threads)
+        throws IOException
+    {
+        PercolationStats pcs = load(checkpoint);
+        pcs.run(threads);
+        return pcs;
+    }
+
+    /**
+     * Same as above, but check that the run was started with given epsilon
+     * and time budget and refuse to continue it with different ones.
+     */
+    public static PercolationStats resume(File checkpoint, int threads,
+                                          double epsilon, long budgetMillis)
+        throws IOException
+    {
+        validateRun(epsilon, budgetMillis);
+
+        PercolationStats pcs = load(checkpoint);
+        if (epsilon != pcs.epsilon || budgetMillis != pcs.budgetMillis)
+            throw new IllegalArgumentException(String.format(
+                    "Run was started with epsilon %s and budget %d ms",
+                    pcs.epsilon, pcs.budgetMillis));
+
+        pcs.run(threads);
+        return pcs;
+    }
+
+    /** Read state of a run from the checkpoint file */
+    private static PercolationStats load(File checkpoint) throws IOException
+    {
+        DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(checkpoint)));
+        try {
+            return new PercolationStats(in, checkpoint);
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Check stop conditions of a run */
+    private static void validateRun(double epsilon, long budgetMillis)
+    {
+        if (epsilon < 0 || budgetMillis < 0)
+            throw new IllegalArgumentException(
+                "Epsilon and budget must be non-negative");
+    }
+
+    /**
+     * Run blocks until all are done or stop condition is met.
+     *
+     * Up to two blocks per thread are in flight. Finished blocks are kept
+     * aside and merged strictly in order, so the result depends only on how
+     * many blocks were merged. Confidence interval is checked after every
+     * merged block. Time budget is checked by workers before every iteration:
+     * once it is spent they drop their blocks unfinished, so the run
+     * overshoots the budget by at most one iteration. Checkpoint is due
+     * whenever some block finishes and includes the ones not merged yet.
+     */
+    private void run(int threads)
+    {
+        if (threads <= 0)
+            throw new IllegalArgumentException(
+                "Number of threads must be at least 1");
+
+        long start = System.currentTimeMillis() - elapsed;
+        long saved = System.currentTimeMillis();
+        int blocks = blocks();
+        if (blocksDone > blocks)
+            throw new IllegalStateException("More blocks done than there are");
+
+        deadline = Long.MAX_VALUE;
+        if (budgetMillis > 0)
+            deadline = start + budgetMillis;
+        stopped = false;
+
+        ExecutorService pool = null;
+        CompletionService<Block> done = null;
+        if (threads > 1) {
+            pool = Executors.newFixedThreadPool(threads);
+            done = new ExecutorCompletionService<Block>(pool);
+        }
+        Queue<Workspace> workspaces = new ConcurrentLinkedQueue<Workspace>();
+        int next = blocksDone;
+        int running = 0;
+        try {
+            while (true)
+            {
+                while (finished.containsKey(blocksDone) && !narrow())
+                {
+                    merge(finished.remove(blocksDone));
+                    blocksDone++;
+                }
+                if (blocksDone == blocks || narrow())
+                    break;
+
+                Block block;
+                if (pool == null) {
+                    block = runBlock(blocksDone, workspaces);
+                } else {
+                    while (next < blocks
+                           && (running < threads
+                               || running + finished.size() < 2 * threads))
+                    {
+                        if (!finished.containsKey(next)) {
+                            submit(done, next, workspaces);
+                            running++;
+                        }
+                        next++;
+                    }
+                    block = await(done);
+                    running--;
+                }
+
+                // Budget is spent, the block is unfinished
+                if (block == null)
+                    break;
+                finished.put(block.index, block);
+
+                long now = System.currentTimeMillis();
+                if (checkpoint != null && now - saved >= CHECKPOINT_MILLIS) {
+                    save(now - start);
+                    saved = now;
+                }
+            }
+        } finally {
+            stopped = true;
+            if (pool != null)
+                pool.shutdownNow();
+        }
+
+        if (checkpoint != null)
+            save(System.currentTimeMillis() - start);
+    }
+
+    /** Is the confidence interval narrower than epsilon already? */
+    private boolean narrow()
+    {
+        return epsilon > 0 && trials() > 1
+            && confidenceHi() - confidenceLo() < epsilon;
+    }
+
+    /** Run the block b on the pool */
+    private void submit(CompletionService<Block> pool, final int b,
+                        final Queue<Workspace> workspaces)
+    {
+        pool.submit(new Callable<Block>() {
+            public Block call() {
+                return runBlock(b, workspaces);
+            }
+        });
+    }
+
+    /** Wait for some block to finish */
+    private static Block await(CompletionService<Block> pool)
+    {
+        try {
+            return pool.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running experiments", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Experiment failed", e.getCause());
+        }
+    }
+
+    /**
+     * Write state of the run to the checkpoint file. Data goes to a temporary
+     * file first which then replaces the checkpoint, so a crash while saving
+     * leaves the previous checkpoint intact. Iteration streams are derived
+     * from the seed and the iteration number, so the seed and the numbers of
+     * blocks done is the whole state of random generators. Blocks that are
+     * finished but can't be merged yet are saved separately. Sample of
+     * results is not saved, runs with checkpoints don't keep it.
+     */
+    private void save(long elapsedMillis)
+    {
+        File tmp = new File(checkpoint.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(CHECKPOINT_VERSION);
+                out.writeInt(N);
+                out.writeInt(T);
+                out.writeLong(seed);
+                out.writeInt(blocksDone);
+                out.writeLong(elapsedMillis);
+                out.writeDouble(epsilon);
+                out.writeLong(budgetMillis);
+                out.writeLong(stats.count());
+                out.writeDouble(stats.mean());
+                out.writeDouble(stats.m2());
+
+                out.writeInt(finished.size());
+                for (Block block : finished.values())
+                {
+                    out.writeInt(block.index);
+                    out.writeLong(block.stats.count());
+                    out.writeDouble(block.stats.mean());
+                    out.writeDouble(block.stats.m2());
+                }
+            } finally {
+                out.close();
+            }
+
+            Files.move(tmp.toPath(), checkpoint.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                "Failed to save checkpoint " + checkpoint, e);
+        }
+    }
+
+    /** Number of iterations in a block, the last one may be shorter */
+    private int blockSize() { return ceilDiv(T, BLOCKS); }
+
+    /** Number of blocks */
+    private int blocks() { return ceilDiv(T, blockSize()); }
+
+    /** Quotient rounded up, in long so T near int limit doesn't overflow */
+    private static int ceilDiv(long a, long b) { return (int) ((a + b - 1) / b); }
+
+    /** Seed for the default constructor, follows StdRandom.setSeed */
+    static long randomSeed()
+    {
+        return ((long) StdRandom.uniform(Integer.MAX_VALUE) << 31)
+             ^ StdRandom.uniform(Integer.MAX_VALUE);
+    }
+
+    /** Statistics of a block of iterations */
+    private static class Block
+    {
+        private int index;
+        private RunningStats stats = new RunningStats();
+        private Reservoir sample;
+    }
+
+    /** Account statistics of the block */
+    private void merge(Block block)
+    {
+        stats.merge(block.stats);
+        if (sample != null)
+            sample.merge(block.sample);
+    }
+
+    /**
+     * Run iterations of the block b with a workspace taken from the pool.
+     * Returns null if the run was stopped or the time budget was spent before
+     * all of them were done.
+     */
+    private Block runBlock(int b, Queue<Workspace> workspaces)
+    {
+        Block block = new Block();
+        block.index = b;
+        int from = b * blockSize();
+        int to = (int) Math.min(T, (long) from + blockSize());
+        if (sampleSize > 0)
+            block.sample = new Reservoir(Math.min(sampleSize, to - from),
+                                         trialRandom(~seed, b));
+
+        Workspace ws = workspaces.poll();
+        if (ws == null) {
+            ws = new Workspace();
+            ws.pc = new Percolation(N);
+            ws.sites = new int[N * N];
+        }
+
+        try {
+            return runIterations(block, from, to, ws);
+        } finally {
+            workspaces.add(ws);
+        }
+    }
+
+    /** Run iterations from..to-1 into the block */
+    private Block runIterations(Block block, int from, int to, Workspace ws)
+    {
+        for (int t = from; t < to; t++)
+        {
+            if (stopped || System.currentTimeMillis() >= deadline)
+                return null;
+
+            double x = doExperiment(trialRandom(seed, t), ws);
+            block.stats.add(x);
+            if (block.sample != null)
+                block.sample.add(x);
+        }
+        return block;
+    }
+
+    /**
+     * Grid and permutation buffer reused by all iterations of a worker. Every
+     * run keeps a pool of them, at most one per thread, and drops it when done.
+     */
+    private static class Workspace
+    {
+        private Percolation pc;
+        private int[] sites;
+    }
+
+    /**
+     * Random stream of the iteration t. Seed and iteration number are mixed
+     * with a 64-bit finalizer (Stafford's variant 13), so neighboring
+     * iterations get unrelated streams.
+     */
+    static SplittableRandom trialRandom(long seed, int t)
+    {
+        long z = seed + (t + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /** Single experiment iteration, threshold estimate of a random order */
+    private double doExperiment(SplittableRandom random, Workspace ws)
+    {
+        return (double) percolationStep(random, ws.pc, ws.sites) / (N * N);
+    }
+
+    /**
+     * Open sites of the grid in random order until it percolates and return
+     * the number of sites opened.
+     *
+     * Sites are opened in the order of a random permutation built lazily by
+     * Fisher-Yates shuffle: step k swaps a random site from sites[k..] into
+     * sites[k] and opens it. So every draw opens a new site, unlike drawing
+     * random (i, j) and skipping already open ones, which wastes about 40% of
+     * draws near the threshold. The grid is reset and sites array, of N * N
+     * elements, is set to identity so results depend only on the stream.
+     */
+    static int percolationStep(SplittableRandom random, Percolation pc, int[] sites)
+    {
+        int total = sites.length;
+        for (int n = 0; n < total; n++)
+            sites[n] = n;
+
         int openSites = 0;
-        Percolation pc = new Percolation(N);
+        pc.reset();
 
         do {
-            i = StdRandom.uniform(1, N + 1);
-            j = StdRandom.uniform(1, N + 1);
-            if (pc.isOpen(i, j))
-                continue;
+            int r = random.nextInt(openSites, total);
+            int n = sites[r];
+            sites[r] = sites[openSites];
+            sites[openSites] = n;
 
-            pc.open(i, j);
-            openSites++;            
-        } while(!pc.percolates());
+            pc.openIndex(n);
+            openSites++;
+        } while (!pc.percolates());
 
-        return (double) openSites / (N * N);
+        return openSites;
     }
 
     /** Sample mean of percolation threshold */
-    public double mean() { return StdStats.mean(results); }
+    public double mean() { return stats.mean(); }
 
     /** Sample standard deviation of percolation threshold */
-    public double stddev() { return StdStats.stddev(results); }
+    public double stddev() { return stats.stddev(); }
 
     /** Low  endpoint of 95% confidence interval */
-    public double confidenceLo() { return mean() - 1.96 * stddev() / Math.sqrt(T); }
+    public double confidenceLo()
+    {
+        return mean() - 1.96 * stddev() / Math.sqrt(trials());
+    }
 
     /** High endpoint of 95% confidence interval */
-    public double confidenceHi() { return mean() + 1.96 * stddev() / Math.sqrt(T); }
+    public double confidenceHi()
+    {
+        return mean() + 1.96 * stddev() / Math.sqrt(trials());
+    }
+
+    /** Number of experiments actually performed */
+    public int trials() { return (int) stats.count(); }
+
+    /**
+     * Estimate of the q-quantile of percolation threshold from the sample of
+     * results. Requires non-zero sample size in the constructor.
+     */
+    public double quantile(double q)
+    {
+        if (sample == null)
+            throw new IllegalStateException("No sample of results was kept");
+
+        return sample.quantile(q);
+    }
 
     /** Test client */
-    public static void main(String[] args)
+    public static void main(String[] args) throws IOException
     {
-        if (args.length != 2) {
+        // Split options from positional arguments, options may start
+        // with a single or a double dash
+        List<String> positional = new ArrayList<String>();
+        double epsilon = 0;
+        double seconds = 0;
+        File checkpoint = null;
+        File resume = null;
+        int a = 0;
+        while (a < args.length)
+        {
+            String arg = args[a++];
+            String opt = arg;
+            if (opt.startsWith("--"))
+                opt = opt.substring(1);
+            boolean hasValue = a < args.length;
+
+            if (opt.equals("-eps") && hasValue)
+                epsilon = Double.parseDouble(args[a++]);
+            else if (opt.equals("-time") && hasValue)
+                seconds = Double.parseDouble(args[a++]);
+            else if (opt.equals("-checkpoint") && hasValue)
+                checkpoint = new File(args[a++]);
+            else if (opt.equals("-resume") && hasValue)
+                resume = new File(args[a++]);
+            else
+                positional.add(arg);
+        }
+
+        int required = 2;
+        if (resume != null)
+            required = 0;
+        if (positional.size() < required || positional.size() > required + 2) {
             StdOut.println("Requires 2 arguments <N> (grid size) and <T> (iterations)");
+            StdOut.println("and optional <threads> and <seed>");
+            StdOut.println("With --eps <width> and/or --time <seconds> stops");
+            StdOut.println("as soon as confidence interval is narrower than");
+            StdOut.println("width or time is up, T is then the maximum number");
+            StdOut.println("of iterations");
+            StdOut.println("With --checkpoint <file> saves progress to the file,");
+            StdOut.println("--resume <file> [<threads>] continues from it with");
+            StdOut.println("the same --eps and --time, which may be repeated");
+            StdOut.println("but not changed");
             return;
         }
 
-        // Read 2 arguments - N and T.
-        int N = Integer.parseInt(args[0]);
-        int T = Integer.parseInt(args[1]);
+        long budget = (long) (seconds * 1000);
+        PercolationStats pcs;
+        if (resume != null) {
+            int threads = 1;
+            if (positional.size() > 0)
+                threads = Integer.parseInt(positional.get(0));
+            if (epsilon > 0 || budget > 0)
+                pcs = resume(resume, threads, epsilon, budget);
+            else
+                pcs = resume(resume, threads);
+        } else {
+            // Read 2 arguments - N and T.
+            int N = Integer.parseInt(positional.get(0));
+            int T = Integer.parseInt(positional.get(1));
+            int threads = 1;
+            if (positional.size() > 2)
+                threads = Integer.parseInt(positional.get(2));
+            long seed;
+            if (positional.size() > 3)
+                seed = Long.parseLong(positional.get(3));
+            else
+                seed = randomSeed();
+
+            // Perform up to T independent computation experiments
+            // on N-by-N grid
+            pcs = new PercolationStats(N, T, seed, threads,
+                                       epsilon, budget, checkpoint);
+        }
 
-        // Perform T independent computation experiments 
-        // on N-by-N grid
-        PercolationStats pcs = new PercolationStats(N, T);
-        
         // Print out the mean, standart deviation and 95% confidence interval
         // for the percolation threshold.
         StdOut.printf("mean\t= %f\n", pcs.mean());
         StdOut.printf("stddev\t= %f\n", pcs.stddev());
         StdOut.printf("95%% confidence interval\t= %f %f\n", 
                 pcs.confidenceLo(), pcs.confidenceHi());
-
+        if (epsilon > 0 || seconds > 0 || resume != null)
+            StdOut.printf("iterations\t= %d\n", pcs.trials());
     }
 }
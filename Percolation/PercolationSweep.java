@@ -0,0 +1,109 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 PercolationSweep.java
+ *  Execution:     java-algs4 PercolationSweep <T> <N1>[:<T1>] [<N2>[:<T2>] ...]
+ *                            [--threads <k>] [--seed <s>] [--json]
+ *
+ *  Estimate percolation threshold for several grid sizes in one process
+ *  and print a table with a row per grid size.
+ *
+ *  Every grid size runs T iterations unless it's given as N:T. All sizes
+ *  use the same seed, so each row is reproducible with PercolationStats
+ *  given that seed. Running them in a single JVM avoids paying startup
+ *  and JIT warmup for every size. Within a size each worker keeps its
+ *  grid and buffers, resetting them between iterations, and drops them
+ *  before the next size.
+ *
+ *  % java-algs4 PercolationSweep 1000 16 32 64 128:200 --seed 1
+ *  N,T,mean,stddev,lo,hi,seconds
+ *  16,1000,0.593066,0.059152,0.589400,0.596733,0.046
+ *  ...
+ *
+ *----------------------------------------------------------------*/
+import java.util.ArrayList;
+import java.util.List;
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.Stopwatch;
+
+public class PercolationSweep
+{
+    /** Print one row of the table */
+    private static void print(boolean json, boolean first, int N,
+                              PercolationStats pcs, double seconds)
+    {
+        if (json) {
+            String separator = ",\n  ";
+            if (first)
+                separator = "  ";
+            StdOut.printf("%s{\"N\": %d, \"T\": %d, \"mean\": %f, \"stddev\": %f, "
+                        + "\"lo\": %f, \"hi\": %f, \"seconds\": %.3f}",
+                    separator, N, pcs.trials(), pcs.mean(), pcs.stddev(),
+                    pcs.confidenceLo(), pcs.confidenceHi(), seconds);
+            return;
+        }
+
+        StdOut.printf("%d,%d,%f,%f,%f,%f,%.3f\n", N, pcs.trials(), pcs.mean(),
+                pcs.stddev(), pcs.confidenceLo(), pcs.confidenceHi(), seconds);
+    }
+
+    public static void main(String[] args)
+    {
+        List<String> positional = new ArrayList<String>();
+        int threads = 1;
+        long seed = StdRandom.getSeed();
+        boolean json = false;
+        int a = 0;
+        while (a < args.length)
+        {
+            String arg = args[a++];
+            String opt = arg;
+            if (opt.startsWith("--"))
+                opt = opt.substring(1);
+            boolean hasValue = a < args.length;
+
+            if (opt.equals("-threads") && hasValue)
+                threads = Integer.parseInt(args[a++]);
+            else if (opt.equals("-seed") && hasValue)
+                seed = Long.parseLong(args[a++]);
+            else if (opt.equals("-json"))
+                json = true;
+            else
+                positional.add(arg);
+        }
+
+        if (positional.size() < 2) {
+            StdOut.println("Requires arguments <T> (iterations) and <N>... "
+                + "(grid sizes),");
+            StdOut.println("grid size may be given as N:T to override iterations");
+            StdOut.println("Options: --threads <k>, --seed <s>, --json");
+            return;
+        }
+
+        int T = Integer.parseInt(positional.get(0));
+
+        if (json)
+            StdOut.println("[");
+        else
+            StdOut.println("N,T,mean,stddev,lo,hi,seconds");
+
+        for (int p = 1; p < positional.size(); p++)
+        {
+            String[] point = positional.get(p).split(":");
+            int N = Integer.parseInt(point[0]);
+            int trials = T;
+            if (point.length > 1)
+                trials = Integer.parseInt(point[1]);
+
+            Stopwatch sw = new Stopwatch();
+            PercolationStats pcs = new PercolationStats(N, trials, seed, threads);
+            print(json, p == 1, N, pcs, sw.elapsedTime());
+        }
+
+        if (json)
+            StdOut.println("\n]");
+    }
+}
@@ -0,0 +1,132 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 Reservoir.java
+ *
+ *  Bounded uniform random sample of a stream of values, used to
+ *  estimate quantiles without keeping the whole stream.
+ *
+ *----------------------------------------------------------------*/
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reservoir sampling (algorithm R): the first capacity values are kept, after
+ * that the value number k replaces a random kept one with probability
+ * capacity / k. At any moment the reservoir is a uniform sample of the stream.
+ *
+ * Two reservoirs of streams of lengths n_a and n_b are merged by drawing
+ * values of the concatenated stream without replacement: every slot of the
+ * result comes from the first stream with probability proportional to the
+ * number of its values not yet drawn, and then a random kept value of that
+ * stream fills it. So the result is a uniform sample of the concatenated
+ * stream.
+ */
+public class Reservoir
+{
+    /** Kept values, only first size() are valid */
+    private double[] sample;
+
+    /** Number of kept values */
+    private int size;
+
+    /** Number of values seen */
+    private long seen;
+
+    /** Random stream for replacement decisions */
+    private SplittableRandom random;
+
+    /** Create reservoir keeping at most capacity values */
+    public Reservoir(int capacity, SplittableRandom random)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be at least 1");
+
+        sample = new double[capacity];
+        this.random = random;
+    }
+
+    /** Offer a value */
+    public void add(double x)
+    {
+        seen++;
+        if (size < sample.length) {
+            sample[size++] = x;
+            return;
+        }
+
+        long r = random.nextLong(seen);
+        if (r < sample.length)
+            sample[(int) r] = x;
+    }
+
+    /**
+     * Merge sample of the other reservoir as if its values were added here.
+     * If the other one has dropped values, its capacity must be at least the
+     * capacity of this one, otherwise its sample is too small to draw from.
+     */
+    public void merge(Reservoir other)
+    {
+        // Other keeps all its values, so they may simply be offered
+        if (other.size == other.seen) {
+            for (int k = 0; k < other.size; k++)
+                add(other.sample[k]);
+            return;
+        }
+
+        if (other.sample.length < sample.length)
+            throw new IllegalArgumentException(
+                "Can't merge reservoir of smaller capacity that has dropped values");
+
+        double[] a = Arrays.copyOf(sample, size);
+        double[] b = Arrays.copyOf(other.sample, other.size);
+        long restA = seen;
+        long restB = other.seen;
+        int lenA = a.length;
+        int lenB = b.length;
+
+        int capacity = Math.min(sample.length, size + other.size);
+        for (int k = 0; k < capacity; k++)
+        {
+            // Count of values from each stream is hypergeometric
+            boolean fromA = lenB == 0
+                         || (lenA > 0 && random.nextLong(restA + restB) < restA);
+            if (fromA) {
+                int r = random.nextInt(lenA);
+                sample[k] = a[r];
+                a[r] = a[--lenA];
+                restA--;
+            } else {
+                int r = random.nextInt(lenB);
+                sample[k] = b[r];
+                b[r] = b[--lenB];
+                restB--;
+            }
+        }
+
+        size = capacity;
+        seen += other.seen;
+    }
+
+    /** Number of values seen */
+    public long seen() { return seen; }
+
+    /** Number of kept values */
+    public int size() { return size; }
+
+    /** Estimate of the q-quantile, 0 <= q <= 1, by the nearest rank */
+    public double quantile(double q)
+    {
+        if (q < 0 || q > 1)
+            throw new IllegalArgumentException("Quantile must be in [0, 1]");
+        if (size == 0)
+            return Double.NaN;
+
+        double[] sorted = Arrays.copyOf(sample, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(q * size) - 1;
+        return sorted[Math.max(rank, 0)];
+    }
+}
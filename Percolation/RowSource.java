@@ -0,0 +1,28 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 RowSource.java
+ *
+ *  Source of open masks of grid rows, read one row at a time from top
+ *  to bottom.
+ *
+ *----------------------------------------------------------------*/
+import java.io.IOException;
+
+/**
+ * Rows of a grid of width() sites. Row is a packed bitmap: site c is open when
+ * bit c % 64 of the word c / 64 is set.
+ */
+public interface RowSource
+{
+    /** Number of sites in a row */
+    int width();
+
+    /**
+     * Fill row, which has at least (width() + 63) / 64 words, with the next
+     * row and return true, or return false if there are no more rows.
+     */
+    boolean next(long[] row) throws IOException;
+}
@@ -0,0 +1,125 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 RunningStats.java
+ *  Execution:     java-algs4 RunningStats < input.txt
+ *
+ *  Streaming mean and variance of a sequence of values in constant
+ *  memory. Partial accumulators may be merged.
+ *
+ *  Test client reads doubles from standard input and prints count,
+ *  mean and standard deviation.
+ *
+ *----------------------------------------------------------------*/
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Welford's online algorithm. Instead of a sum of squares, which loses
+ * precision when values are close to each other, it keeps the mean and the sum
+ * of squared deviations from it (M2) and updates both on every value.
+ *
+ * Two accumulators are merged with Chan's formula:
+ *
+ *     delta = mean_b - mean_a
+ *     mean  = mean_a + delta * n_b / n
+ *     M2    = M2_a + M2_b + delta^2 * n_a * n_b / n
+ *
+ * All queries are O(1). Statistics are the same as StdStats gives for the
+ * whole sample, i.e. variance is the sample one with n - 1 denominator.
+ */
+public class RunningStats
+{
+    /** Number of values */
+    private long n;
+
+    /** Mean of values */
+    private double mean;
+
+    /** Sum of squared deviations from the mean */
+    private double m2;
+
+    /** Create empty accumulator */
+    public RunningStats() { }
+
+    /** Restore accumulator from its state, see count(), mean() and m2() */
+    public RunningStats(long n, double mean, double m2)
+    {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must be non-negative");
+
+        this.n = n;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    /** Add a value */
+    public void add(double x)
+    {
+        n++;
+        double delta = x - mean;
+        mean += delta / n;
+        m2 += delta * (x - mean);
+    }
+
+    /** Add all values accounted by the other accumulator */
+    public void merge(RunningStats other)
+    {
+        if (other.n == 0)
+            return;
+
+        if (n == 0) {
+            n = other.n;
+            mean = other.mean;
+            m2 = other.m2;
+            return;
+        }
+
+        long total = n + other.n;
+        double delta = other.mean - mean;
+        mean += delta * other.n / total;
+        m2 += other.m2 + delta * delta * ((double) n * other.n / total);
+        n = total;
+    }
+
+    /** Number of values */
+    public long count() { return n; }
+
+    /** Sample mean, NaN if there are no values */
+    public double mean()
+    {
+        if (n == 0)
+            return Double.NaN;
+        return mean;
+    }
+
+    /** Sum of squared deviations from the mean */
+    public double m2() { return m2; }
+
+    /** Sample variance, NaN if there are less than 2 values */
+    public double var()
+    {
+        if (n < 2)
+            return Double.NaN;
+        return m2 / (n - 1);
+    }
+
+    /** Sample standard deviation, NaN if there are less than 2 values */
+    public double stddev() { return Math.sqrt(var()); }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        RunningStats stats = new RunningStats();
+        while (!StdIn.isEmpty())
+            stats.add(StdIn.readDouble());
+
+        StdOut.printf("count\t= %d\n", stats.count());
+        StdOut.printf("mean\t= %f\n", stats.mean());
+        StdOut.printf("stddev\t= %f\n", stats.stddev());
+    }
+}
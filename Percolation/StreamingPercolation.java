@@ -0,0 +1,274 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 StreamingPercolation.java
+ *  Execution:     java-algs4 StreamingPercolation <W> <H> <p> [<seed>]
+ *                 java-algs4 StreamingPercolation <W> <file>
+ *
+ *  Decide whether a grid percolates reading its open mask row by row,
+ *  in memory proportional to the width of the grid only.
+ *
+ *  Test client either generates a W x H grid with every site open with
+ *  probability p, or reads a file of packed rows of width W: each row is
+ *  (W + 7) / 8 bytes, site c is bit c % 8 of the byte c / 8.
+ *
+ *----------------------------------------------------------------*/
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Hoshen-Kopelman labelling of a grid streamed from top to bottom.
+ *
+ * Only two rows of labels are kept: the previous row and the current one.
+ * Every open site of the current row takes the label of its open upper or
+ * left neighbor; if both are open their labels are unioned, if none is then
+ * the site starts a new label. Labels of the first row are marked TOP and the
+ * mark is merged on union.
+ *
+ * After each row labels are renumbered to 0..k-1 where k is the number of
+ * clusters reaching that row, and the union-find of labels is cleared. So it
+ * never has more than 2 * W entries, no matter how tall the grid is. The grid
+ * percolates if some label of the last row is marked TOP. Once no label of a
+ * row is, nothing below can percolate and reading stops.
+ */
+public class StreamingPercolation
+{
+    /** Number of rows read */
+    private long rows;
+
+    /** Number of open sites read */
+    private long open;
+
+    /** Does the grid percolate? */
+    private boolean percolates;
+
+    /** Read rows from the source and decide whether the grid percolates */
+    public StreamingPercolation(RowSource source) throws IOException
+    {
+        int W = source.width();
+        if (W <= 0)
+            throw new IllegalArgumentException("Width must be at least 1");
+
+        long[] row = new long[(W + 63) >>> 6];
+        int[] prev = new int[W];
+        int[] cur = new int[W];
+        int[] parent = new int[2 * W];
+        boolean[] top = new boolean[2 * W];
+        boolean[] nextTop = new boolean[2 * W];
+        int[] remap = new int[2 * W];
+
+        // Label count of the previous row, nothing above the first one
+        int labels = 0;
+        Arrays.fill(prev, -1);
+
+        boolean reachable = true;
+        while (reachable && source.next(row))
+        {
+            int next = labels;
+            for (int c = 0; c < W; c++)
+            {
+                if ((row[c >>> 6] & (1L << c)) == 0) {
+                    cur[c] = -1;
+                    continue;
+                }
+
+                open++;
+                int up = prev[c];
+                int left = -1;
+                if (c > 0)
+                    left = cur[c - 1];
+
+                int label;
+                if (up >= 0 && left >= 0)
+                    label = union(parent, top, up, left);
+                else if (up >= 0)
+                    label = find(parent, up);
+                else if (left >= 0)
+                    label = left;
+                else {
+                    label = next++;
+                    parent[label] = label;
+                    top[label] = rows == 0;
+                }
+                cur[c] = label;
+            }
+
+            // Renumber clusters reaching this row to 0..labels-1
+            for (int l = 0; l < next; l++)
+                remap[l] = -1;
+
+            labels = 0;
+            reachable = false;
+            for (int c = 0; c < W; c++)
+            {
+                if (cur[c] < 0)
+                    continue;
+
+                int root = find(parent, cur[c]);
+                if (remap[root] < 0) {
+                    remap[root] = labels;
+                    nextTop[labels] = top[root];
+                    reachable |= top[root];
+                    labels++;
+                }
+                cur[c] = remap[root];
+            }
+
+            for (int l = 0; l < labels; l++)
+                parent[l] = l;
+
+            boolean[] t = top;
+            top = nextTop;
+            nextTop = t;
+            int[] r = prev;
+            prev = cur;
+            cur = r;
+            rows++;
+        }
+
+        // Either the last row still has a TOP cluster or reading stopped
+        // because no cluster reaches down from the top
+        percolates = reachable && rows > 0;
+    }
+
+    /** Root of the label with path halving */
+    private static int find(int[] parent, int p)
+    {
+        int root = p;
+        while (parent[root] != root)
+        {
+            parent[root] = parent[parent[root]];
+            root = parent[root];
+        }
+        return root;
+    }
+
+    /** Union labels p and q merging TOP marks, return the new root */
+    private static int union(int[] parent, boolean[] top, int p, int q)
+    {
+        int rootP = find(parent, p);
+        int rootQ = find(parent, q);
+        if (rootP == rootQ)
+            return rootP;
+
+        // Link younger label under older one, keeps trees shallow enough
+        // since they live for a single row only
+        int root = Math.min(rootP, rootQ);
+        int child = Math.max(rootP, rootQ);
+        parent[child] = root;
+        top[root] |= top[child];
+        return root;
+    }
+
+    /** Does the grid percolate? */
+    public boolean percolates() { return percolates; }
+
+    /** Number of rows read, less than the height if reading stopped early */
+    public long rows() { return rows; }
+
+    /** Number of open sites in the rows read */
+    public long openSites() { return open; }
+
+    /** Rows of W x H grid with every site open with probability p */
+    public static RowSource bernoulli(final int W, final long H, final double p,
+                                      final SplittableRandom random)
+    {
+        if (p < 0 || p > 1)
+            throw new IllegalArgumentException("Probability must be in [0, 1]");
+
+        return new RowSource() {
+            private long generated;
+
+            public int width() { return W; }
+
+            public boolean next(long[] row)
+            {
+                if (generated == H)
+                    return false;
+
+                BernoulliMask.fill(row, W, p, random);
+
+                generated++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Rows of width W read from the stream: each row is (W + 7) / 8 bytes,
+     * site c is bit c % 8 of the byte c / 8. Rows go until the end of stream.
+     */
+    public static RowSource packed(final int W, InputStream stream)
+    {
+        final DataInputStream in =
+            new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        final byte[] bytes = new byte[(W + 7) >>> 3];
+
+        return new RowSource() {
+            public int width() { return W; }
+
+            public boolean next(long[] row) throws IOException
+            {
+                int n = in.read(bytes);
+                if (n < 0)
+                    return false;
+                if (n < bytes.length) {
+                    try {
+                        in.readFully(bytes, n, bytes.length - n);
+                    } catch (EOFException e) {
+                        throw new IOException("Truncated row", e);
+                    }
+                }
+
+                unpack(bytes, row, W);
+                return true;
+            }
+        };
+    }
+
+    /** Pack bytes of a row into the first words of the row */
+    private static void unpack(byte[] bytes, long[] row, int W)
+    {
+        Arrays.fill(row, 0, (W + 63) >>> 6, 0);
+        for (int b = 0; b < bytes.length; b++)
+            row[b >>> 3] |= (bytes[b] & 0xffL) << ((b & 7) << 3);
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) throws IOException
+    {
+        RowSource source;
+        if (args.length == 2) {
+            source = packed(Integer.parseInt(args[0]),
+                            new FileInputStream(new File(args[1])));
+        } else if (args.length == 3 || args.length == 4) {
+            SplittableRandom random;
+            if (args.length > 3)
+                random = new SplittableRandom(Long.parseLong(args[3]));
+            else
+                random = new SplittableRandom();
+            source = bernoulli(Integer.parseInt(args[0]), Long.parseLong(args[1]),
+                               Double.parseDouble(args[2]), random);
+        } else {
+            StdOut.println("Requires arguments <W> <H> <p> [<seed>] or <W> <file>");
+            return;
+        }
+
+        StreamingPercolation sp = new StreamingPercolation(source);
+        StdOut.printf("percolates\t= %b\n", sp.percolates());
+        StdOut.printf("rows read\t= %d\n", sp.rows());
+        StdOut.printf("open sites\t= %d\n", sp.openSites());
+    }
+}
@@ -0,0 +1,174 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 TiledSites.java
+ *  Execution:     java-algs4 TiledSites <N> <p> [<seed>]
+ *
+ *  Open sites stored in compressed tiles of 4096 sites.
+ *
+ *  Test client opens NxN grid with every site open with probability
+ *  p using flat and tiled storage and prints memory of both.
+ *
+ *----------------------------------------------------------------*/
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+/**
+ * Open sites split into tiles of 4096 consecutive site numbers, i.e. 64 words
+ * of the bitmap, in the spirit of roaring bitmaps. Every tile is either
+ *
+ *  - EMPTY: no open sites, no storage at all (null),
+ *  - FULL:  all sites open, a single bitmap of ones shared by all such tiles,
+ *  - MIXED: its own 512 byte bitmap.
+ *
+ * Tile becomes FULL and drops its bitmap as soon as its last site is opened,
+ * so grids that are mostly blocked or mostly open take a fraction of the
+ * flat bitmap. The last tile, if shorter than 4096 sites, is never FULL.
+ *
+ * Sites are never closed one by one, so tiles only go EMPTY -> MIXED -> FULL,
+ * and clear() drops all bitmaps, which are allocated again on reuse.
+ */
+public class TiledSites implements OpenSites
+{
+    /** Words in a tile */
+    private static final int TILE_WORDS = 64;
+
+    /** Sites in a tile */
+    private static final int TILE_SITES = 64 * TILE_WORDS;
+
+    /** Bitmap of all FULL tiles, must never be written */
+    private static final long[] FULL = new long[TILE_WORDS];
+    static { Arrays.fill(FULL, -1L); }
+
+    /** Bitmaps of tiles: null when EMPTY, FULL or own array when MIXED */
+    private long[][] tiles;
+
+    /** Number of open sites in every tile */
+    private short[] count;
+
+    /** Number of sites */
+    private int sites;
+
+    /** Create n blocked sites */
+    public TiledSites(int n)
+    {
+        if (n < 0)
+            throw new IllegalArgumentException(
+                "Number of sites must be non-negative");
+
+        sites = n;
+        int size = (int) (((long) n + TILE_SITES - 1) / TILE_SITES);
+        tiles = new long[size][];
+        count = new short[size];
+    }
+
+    /** Number of sites */
+    public int size() { return sites; }
+
+    /** Is site n open? */
+    public boolean get(int n)
+    {
+        long[] tile = tiles[n / TILE_SITES];
+        return tile != null && (tile[(n >>> 6) % TILE_WORDS] & (1L << n)) != 0;
+    }
+
+    /** Mark site n open */
+    public void set(int n) { add(n >>> 6, 1L << n); }
+
+    /** Open bits of the sites 64w..64w+63 */
+    public long word(int w)
+    {
+        long[] tile = tiles[w / TILE_WORDS];
+        if (tile == null)
+            return 0;
+        return tile[w % TILE_WORDS];
+    }
+
+    /** Mark sites of the bits open and return bits that were not open before */
+    public long add(int w, long bits)
+    {
+        int t = w / TILE_WORDS;
+        long[] tile = tiles[t];
+        if (tile == FULL || bits == 0)
+            return 0;
+
+        if (tile == null) {
+            tile = new long[TILE_WORDS];
+            tiles[t] = tile;
+        }
+
+        long fresh = bits & ~tile[w % TILE_WORDS];
+        if (fresh == 0)
+            return 0;
+
+        tile[w % TILE_WORDS] |= fresh;
+        int open = (count[t] & 0xffff) + Long.bitCount(fresh);
+        count[t] = (short) open;
+        if (open == TILE_SITES)
+            tiles[t] = FULL;
+        return fresh;
+    }
+
+    /** Mark all sites blocked, dropping all tile bitmaps */
+    public void clear()
+    {
+        Arrays.fill(tiles, null);
+        Arrays.fill(count, (short) 0);
+    }
+
+    /** Number of tiles with own bitmap */
+    public int mixedTiles()
+    {
+        int mixed = 0;
+        for (long[] tile : tiles)
+            if (tile != null && tile != FULL)
+                mixed++;
+        return mixed;
+    }
+
+    /** Tile and count arrays plus bitmaps of MIXED tiles */
+    public long memoryBytes()
+    {
+        return 16 + 8L * tiles.length + 16 + 2L * count.length
+             + (16 + 8L * TILE_WORDS) * mixedTiles();
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 2) {
+            StdOut.println("Requires arguments <N> <p> [<seed>]");
+            return;
+        }
+
+        int N = Integer.parseInt(args[0]);
+        double p = Double.parseDouble(args[1]);
+        long seed;
+        if (args.length > 2)
+            seed = Long.parseLong(args[2]);
+        else
+            seed = PercolationStats.randomSeed();
+        long[] mask = BernoulliMask.generate(N * N, p, new SplittableRandom(seed));
+
+        FlatSites flatSites = new FlatSites(N * N);
+        TiledSites tiledSites = new TiledSites(N * N);
+        Percolation flat = new Percolation(N, new GridUF(N * N), flatSites);
+        Percolation tiled = new Percolation(N, new GridUF(N * N), tiledSites);
+        flat.openAll(mask);
+        tiled.openAll(mask);
+
+        StdOut.printf("percolates\t= %b %b\n",
+                      flat.percolates(), tiled.percolates());
+        StdOut.printf("mixed tiles\t= %d of %d\n",
+                      tiledSites.mixedTiles(), tiledSites.tiles.length);
+        StdOut.printf("flat open\t= %d bytes\n", flatSites.memoryBytes());
+        StdOut.printf("tiled open\t= %d bytes\n", tiledSites.memoryBytes());
+        StdOut.printf("flat grid\t= %d bytes\n", flat.memoryBytes());
+        StdOut.printf("tiled grid\t= %d bytes\n", tiled.memoryBytes());
+    }
+}
@@ -0,0 +1,42 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 UnionFind.java
+ *
+ *  Union-find (disjoint sets) interface used by Percolation so it can
+ *  switch implementations.
+ *
+ *----------------------------------------------------------------*/
+
+/**
+ * Union-find over sites numbered 0..size()-1.
+ *
+ * Unlike algs4 union-find classes, union returns the root of the merged
+ * component so the caller can keep per-component data (like percolation
+ * flags) next to the roots without another find.
+ */
+public interface UnionFind
+{
+    /** Number of sites */
+    int size();
+
+    /** Root of the component containing site p */
+    int find(int p);
+
+    /** Merge components of sites p and q and return the root of the result */
+    int union(int p, int q);
+
+    /** Are sites p and q in the same component? */
+    boolean connected(int p, int q);
+
+    /** Number of sites in the component containing site p */
+    int componentSize(int p);
+
+    /** Put every site back into its own component */
+    void reset();
+
+    /** Approximate heap footprint in bytes */
+    long memoryBytes();
+}
@@ -0,0 +1,99 @@
+/*----------------------------------------------------------------
+ *  Author:        Alex Dzyoba
+ *  Written:       2026-10-18
+ *  Last updated:  2026-10-18
+ *
+ *  Compilation:   javac-algs4 UnionFindBench.java
+ *  Execution:     java-algs4 UnionFindBench <T: trials> <N1> [<N2> ...]
+ *
+ *  Compare percolation trials driven by GridUF and by algs4
+ *  WeightedQuickUnionUF (through AlgsUF).
+ *
+ *  Both implementations replay the very same random opening orders and
+ *  query isFull for every opened site, which is what visualizers and
+ *  backwash checks do.
+ *
+ *----------------------------------------------------------------*/
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.Stopwatch;
+
+public class UnionFindBench
+{
+    /** Number of untimed rounds to let JIT compile the hot paths */
+    private static final int WARMUP = 3;
+
+    /** Run trials for every opening order and return the elapsed seconds */
+    private static double run(int N, int[][] orders, boolean grid)
+    {
+        long checksum = 0;
+        Stopwatch sw = new Stopwatch();
+        for (int[] order : orders)
+        {
+            UnionFind uf;
+            if (grid)
+                uf = new GridUF(N * N);
+            else
+                uf = new AlgsUF(N * N);
+            Percolation pc = new Percolation(N, uf);
+            for (int k = 0; !pc.percolates(); k++)
+            {
+                int i = order[k] / N + 1;
+                int j = order[k] % N + 1;
+                pc.open(i, j);
+                if (pc.isFull(i, j))
+                    checksum++;
+            }
+        }
+        double elapsed = sw.elapsedTime();
+
+        // Keep JIT from throwing the work away
+        if (checksum < 0)
+            StdOut.println(checksum);
+
+        return elapsed;
+    }
+
+    /** Random opening orders, one permutation of sites per trial */
+    private static int[][] orders(int N, int T)
+    {
+        int[][] orders = new int[T][N * N];
+        for (int t = 0; t < T; t++)
+        {
+            for (int n = 0; n < N * N; n++)
+                orders[t][n] = n;
+            StdRandom.shuffle(orders[t]);
+        }
+        return orders;
+    }
+
+    public static void main(String[] args)
+    {
+        if (args.length < 2) {
+            StdOut.println("Requires arguments <T> (trials) and <N>... "
+                + "(grid sizes)");
+            return;
+        }
+
+        int T = Integer.parseInt(args[0]);
+        StdRandom.setSeed(42);
+
+        StdOut.printf("%8s %12s %12s %8s\n",
+            "N", "GridUF, s", "algs4, s", "speedup");
+        for (int a = 1; a < args.length; a++)
+        {
+            int N = Integer.parseInt(args[a]);
+            int[][] orders = orders(N, T);
+
+            for (int w = 0; w < WARMUP; w++)
+            {
+                run(N, orders, true);
+                run(N, orders, false);
+            }
+
+            double grid = run(N, orders, true);
+            double algs = run(N, orders, false);
+            StdOut.printf("%8d %12.3f %12.3f %8.2f\n", N, grid, algs, algs / grid);
+        }
+    }
+}